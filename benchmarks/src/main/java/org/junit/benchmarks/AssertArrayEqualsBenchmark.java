@@ -0,0 +1,103 @@
+package org.junit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code Assert.assertArrayEquals} on equal primitive arrays (distinct
+ * instances, so no identity shortcut applies), on {@code double[]} arrays that
+ * are only equal within the delta, and on {@code long[]} arrays that differ in
+ * their last element.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AssertArrayEqualsBenchmark {
+    @Param({"1000", "1000000"})
+    public int size;
+
+    private byte[] bytes1;
+    private byte[] bytes2;
+    private int[] ints1;
+    private int[] ints2;
+    private long[] longs1;
+    private long[] longs2;
+    private double[] doubles1;
+    private double[] doubles2;
+    private double[] nearDoubles;
+    private long[] longsDifferingAtEnd;
+
+    @Setup
+    public void setUp() {
+        bytes1 = new byte[size];
+        ints1 = new int[size];
+        longs1 = new long[size];
+        doubles1 = new double[size];
+        for (int i = 0; i < size; i++) {
+            bytes1[i] = (byte) i;
+            ints1[i] = i;
+            longs1[i] = i * 31L;
+            doubles1[i] = i / 7.0;
+        }
+        bytes2 = bytes1.clone();
+        ints2 = ints1.clone();
+        longs2 = longs1.clone();
+        doubles2 = doubles1.clone();
+        nearDoubles = new double[size];
+        for (int i = 0; i < size; i++) {
+            nearDoubles[i] = doubles1[i] + 0.00001;
+        }
+        longsDifferingAtEnd = longs1.clone();
+        longsDifferingAtEnd[size - 1]++;
+    }
+
+    @Benchmark
+    public void bytes() {
+        Assert.assertArrayEquals(bytes1, bytes2);
+    }
+
+    @Benchmark
+    public void ints() {
+        Assert.assertArrayEquals(ints1, ints2);
+    }
+
+    @Benchmark
+    public void longs() {
+        Assert.assertArrayEquals(longs1, longs2);
+    }
+
+    @Benchmark
+    public void doublesWithDelta() {
+        Assert.assertArrayEquals(doubles1, doubles2, 0.0001);
+    }
+
+    @Benchmark
+    public void doublesWithinDelta() {
+        Assert.assertArrayEquals(doubles1, nearDoubles, 0.0001);
+    }
+
+    @Benchmark
+    public AssertionError longsDifferingAtEnd() {
+        try {
+            Assert.assertArrayEquals(longs1, longsDifferingAtEnd);
+        } catch (AssertionError e) {
+            return e;
+        }
+        throw new IllegalStateException("arrays were equal");
+    }
+}
@@ -0,0 +1,88 @@
+package org.junit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code Assert.assertArrayEquals} on 4096x4096 {@code int[][]} and
+ * {@code Object[][]} matrices with distinct rows, which are either equal or
+ * differ in their last element.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AssertMatrixEqualsBenchmark {
+    private static final int SIZE = 4096;
+
+    private int[][] ints1;
+    private int[][] ints2;
+    private int[][] intsDifferingAtEnd;
+    private Object[][] objects1;
+    private Object[][] objectsDifferingAtEnd;
+
+    @Setup
+    public void setUp() {
+        ints1 = new int[SIZE][SIZE];
+        objects1 = new Object[SIZE][SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            for (int j = 0; j < SIZE; j++) {
+                ints1[i][j] = i * SIZE + j;
+                objects1[i][j] = (i + j) % 100; // cached Integers
+            }
+        }
+        ints2 = copy(ints1);
+        intsDifferingAtEnd = copy(ints1);
+        intsDifferingAtEnd[SIZE - 1][SIZE - 1]++;
+        objectsDifferingAtEnd = new Object[SIZE][];
+        for (int i = 0; i < SIZE; i++) {
+            objectsDifferingAtEnd[i] = objects1[i].clone();
+        }
+        objectsDifferingAtEnd[SIZE - 1][SIZE - 1] = "end";
+    }
+
+    private static int[][] copy(int[][] matrix) {
+        int[][] copy = new int[matrix.length][];
+        for (int i = 0; i < matrix.length; i++) {
+            copy[i] = matrix[i].clone();
+        }
+        return copy;
+    }
+
+    @Benchmark
+    public void ints() {
+        Assert.assertArrayEquals(ints1, ints2);
+    }
+
+    @Benchmark
+    public AssertionError intsDifferingAtEnd() {
+        return failure(ints1, intsDifferingAtEnd);
+    }
+
+    @Benchmark
+    public AssertionError objectsDifferingAtEnd() {
+        return failure(objects1, objectsDifferingAtEnd);
+    }
+
+    private static AssertionError failure(Object[] expecteds, Object[] actuals) {
+        try {
+            Assert.assertArrayEquals(expecteds, actuals);
+        } catch (AssertionError e) {
+            return e;
+        }
+        throw new IllegalStateException("matrices were equal");
+    }
+}
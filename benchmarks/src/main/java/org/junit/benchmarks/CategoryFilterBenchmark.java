@@ -0,0 +1,62 @@
+package org.junit.benchmarks;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.benchmarks.fixtures.CategorizedTests;
+import org.junit.experimental.categories.Categories.CategoryFilter;
+import org.junit.runner.Description;
+import org.junit.runner.Request;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Deciding with a {@link CategoryFilter} whether to run each of the ten tests of
+ * {@link CategorizedTests}, including slow tests that are not flaky.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CategoryFilterBenchmark {
+    private final CategoryFilter filter = CategoryFilter.categoryFilter(
+            true, single(CategorizedTests.Slow.class),
+            true, single(CategorizedTests.Flaky.class));
+
+    private List<Description> tests;
+
+    @Setup
+    public void setUp() {
+        tests = Request.aClass(CategorizedTests.class).getRunner()
+                .getDescription().getChildren();
+    }
+
+    private static Set<Class<?>> single(Class<?> category) {
+        Set<Class<?>> categories = new HashSet<Class<?>>();
+        categories.add(category);
+        return categories;
+    }
+
+    @Benchmark
+    public int shouldRun() {
+        int count = 0;
+        for (Description each : tests) {
+            if (filter.shouldRun(each)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,63 @@
+package org.junit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.benchmarks.fixtures.ManyParameters;
+import org.junit.runner.Description;
+import org.junit.runner.Request;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Building {@link Description} trees for large suites, both directly and
+ * through a {@code Parameterized} runner with
+ * {@value ManyParameters#ROWS} rows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DescriptionBenchmark {
+    @State(Scope.Benchmark)
+    public static class Suite {
+        @Param({"100", "1000"})
+        public int classes;
+    }
+
+    @Benchmark
+    public Description buildTree(Suite suite) {
+        return buildTree(suite.classes);
+    }
+
+    @Benchmark
+    public int testCount(Suite suite) {
+        return buildTree(suite.classes).testCount();
+    }
+
+    @Benchmark
+    public Description parameterizedRunner() {
+        return Request.aClass(ManyParameters.class).getRunner().getDescription();
+    }
+
+    private static Description buildTree(int classes) {
+        Description suite = Description.createSuiteDescription("suite");
+        for (int c = 0; c < classes; c++) {
+            String className = "org.example.Test" + c;
+            Description testClass = Description.createSuiteDescription(className);
+            for (int m = 0; m < 10; m++) {
+                testClass.addChild(Description.createTestDescription(className, "test" + m));
+            }
+            suite.addChild(testClass);
+        }
+        return suite;
+    }
+}
@@ -0,0 +1,74 @@
+package org.junit.benchmarks;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.benchmarks.fixtures.ManyParameters;
+import org.junit.runner.Description;
+import org.junit.runner.Request;
+import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.manipulation.Sorter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Applying a {@link Filter} and a {@link Sorter} to a suite of
+ * {@value ManyParameters#ROWS} parameter sets with ten tests each. The runner
+ * is rebuilt before every invocation, outside of the measurement.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterSortBenchmark {
+    private static final Filter EVEN_TESTS = new Filter() {
+        @Override
+        public boolean shouldRun(Description description) {
+            String methodName = description.getMethodName();
+            return methodName == null || methodName.charAt(5) % 2 == 0;
+        }
+
+        @Override
+        public String describe() {
+            return "even tests";
+        }
+    };
+
+    private static final Sorter REVERSED = new Sorter(new Comparator<Description>() {
+        public int compare(Description o1, Description o2) {
+            return o2.getDisplayName().compareTo(o1.getDisplayName());
+        }
+    });
+
+    private Runner runner;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        runner = Request.aClass(ManyParameters.class).getRunner();
+    }
+
+    @Benchmark
+    public Runner filter() throws NoTestsRemainException {
+        EVEN_TESTS.apply(runner);
+        return runner;
+    }
+
+    @Benchmark
+    public Runner sort() {
+        REVERSED.apply(runner);
+        return runner;
+    }
+}
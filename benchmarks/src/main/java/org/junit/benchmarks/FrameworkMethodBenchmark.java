@@ -0,0 +1,80 @@
+package org.junit.benchmarks;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.internal.runners.model.ReflectiveCallable;
+import org.junit.runners.model.FrameworkMethod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Invoking an empty test method through {@link FrameworkMethod}, compared with
+ * the path used up to 4.12 (a {@link ReflectiveCallable} per call), with a
+ * {@code java.lang.invoke.MethodHandle} and with a direct call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrameworkMethodBenchmark {
+    public static class Target {
+        public int calls;
+
+        public void test() {
+            calls++;
+        }
+    }
+
+    private Target target;
+
+    private FrameworkMethod frameworkMethod;
+
+    private java.lang.invoke.MethodHandle methodHandle;
+
+    @Setup
+    public void setUp() throws Exception {
+        target = new Target();
+        Method method = Target.class.getMethod("test");
+        frameworkMethod = new FrameworkMethod(method);
+        methodHandle = java.lang.invoke.MethodHandles.publicLookup().unreflect(method);
+    }
+
+    @Benchmark
+    public Object invokeExplosively() throws Throwable {
+        return frameworkMethod.invokeExplosively(target);
+    }
+
+    @Benchmark
+    public Object reflectiveCallable() throws Throwable {
+        final Method method = frameworkMethod.getMethod();
+        final Object target = this.target;
+        return new ReflectiveCallable() {
+            @Override
+            protected Object runReflectiveCall() throws Throwable {
+                return method.invoke(target);
+            }
+        }.run();
+    }
+
+    @Benchmark
+    public Object methodHandle() throws Throwable {
+        return methodHandle.invoke(target);
+    }
+
+    @Benchmark
+    public int direct() {
+        target.test();
+        return target.calls;
+    }
+}
@@ -0,0 +1,94 @@
+package org.junit.benchmarks;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.experimental.max.MaxHistory;
+import org.junit.runner.Description;
+import org.junit.runner.Result;
+import org.junit.runner.notification.RunListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Loading a {@link MaxHistory} with many tests, from its own file and from a
+ * file written by serializing the whole history, and saving the history after
+ * a run of a single test.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class MaxHistoryBenchmark {
+    @Param({"100000", "1000000"})
+    public int tests;
+
+    private File file;
+
+    private File serializedFile;
+
+    private RunListener listener;
+
+    private Description changedTest;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        file = File.createTempFile("MaxHistoryBenchmark", ".history");
+        file.delete();
+        MaxHistory history = MaxHistory.forFolder(file);
+        RunListener recorder = history.listener();
+        for (int i = 0; i < tests; i++) {
+            Description test = Description.createTestDescription(
+                    "org.example.SomeTest" + (i / 10), "test" + i);
+            recorder.testStarted(test);
+            recorder.testFinished(test);
+        }
+        recorder.testRunFinished(new Result());
+
+        serializedFile = File.createTempFile("MaxHistoryBenchmark", ".ser");
+        ObjectOutputStream stream = new ObjectOutputStream(new FileOutputStream(serializedFile));
+        stream.writeObject(history);
+        stream.close();
+
+        listener = MaxHistory.forFolder(file).listener();
+        changedTest = Description.createTestDescription("org.example.SomeTest0", "test0");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        file.delete();
+        serializedFile.delete();
+    }
+
+    @Benchmark
+    public MaxHistory load() {
+        return MaxHistory.forFolder(file);
+    }
+
+    @Benchmark
+    public MaxHistory loadSerialized() {
+        return MaxHistory.forFolder(serializedFile);
+    }
+
+    @Benchmark
+    public void saveAfterOneTest() throws Exception {
+        listener.testStarted(changedTest);
+        listener.testFinished(changedTest);
+        listener.testRunFinished(new Result());
+    }
+}
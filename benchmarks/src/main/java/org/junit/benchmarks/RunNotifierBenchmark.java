@@ -0,0 +1,90 @@
+package org.junit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.runner.Description;
+import org.junit.runner.Result;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Dispatching a started/finished event pair to three listeners from four
+ * test threads, with thread-safe listeners, with listeners that need
+ * synchronization, and with asynchronous listeners.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class RunNotifierBenchmark {
+    private static final Description TEST =
+            Description.createTestDescription("org.example.Test", "test");
+
+    @Param({"threadSafe", "synchronized", "asynchronous"})
+    public String listeners;
+
+    private RunNotifier notifier;
+
+    public static class CountingListener extends RunListener {
+        private long events;
+
+        @Override
+        public void testStarted(Description description) {
+            events++;
+        }
+
+        @Override
+        public void testFinished(Description description) {
+            events++;
+        }
+    }
+
+    @RunListener.ThreadSafe
+    public static class ThreadSafeListener extends RunListener {
+        @Override
+        public void testStarted(Description description) {
+        }
+
+        @Override
+        public void testFinished(Description description) {
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        notifier = listeners.equals("asynchronous")
+                ? RunNotifier.withAsynchronousListeners() : new RunNotifier();
+        for (int i = 0; i < 3; i++) {
+            notifier.addListener(listeners.equals("threadSafe")
+                    ? new ThreadSafeListener() : new CountingListener());
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void flush() {
+        notifier.fireTestRunFinished(new Result());
+    }
+
+    @Benchmark
+    public void startAndFinish() {
+        notifier.fireTestStarted(TEST);
+        notifier.fireTestFinished(TEST);
+    }
+}
@@ -0,0 +1,70 @@
+package org.junit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.benchmarks.fixtures.EmptyTests;
+import org.junit.benchmarks.fixtures.EmptyTestsWithBeforeAfter;
+import org.junit.benchmarks.fixtures.EmptyTestsWithRule;
+import org.junit.benchmarks.fixtures.EmptyTestsWithTimeout;
+import org.junit.benchmarks.fixtures.EmptyTestsWithWatchdogTimeout;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.BlockJUnit4ClassRunner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Framework overhead per test: runs a class of ten empty tests through
+ * {@link BlockJUnit4ClassRunner}, which covers {@code classBlock},
+ * {@code methodBlock} and the notifier. Scores are per test.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RunnerOverheadBenchmark {
+    @Param({"plain", "rule", "timeout", "watchdogTimeout", "beforeAfter"})
+    public String fixture;
+
+    private BlockJUnit4ClassRunner runner;
+
+    private RunNotifier notifier;
+
+    @Setup
+    public void setUp() throws Exception {
+        runner = new BlockJUnit4ClassRunner(fixtureClass(fixture));
+        notifier = new RunNotifier();
+    }
+
+    static Class<?> fixtureClass(String name) {
+        if (name.equals("plain")) {
+            return EmptyTests.class;
+        } else if (name.equals("rule")) {
+            return EmptyTestsWithRule.class;
+        } else if (name.equals("timeout")) {
+            return EmptyTestsWithTimeout.class;
+        } else if (name.equals("watchdogTimeout")) {
+            return EmptyTestsWithWatchdogTimeout.class;
+        } else if (name.equals("beforeAfter")) {
+            return EmptyTestsWithBeforeAfter.class;
+        }
+        throw new IllegalArgumentException("Unknown fixture " + name);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(10)
+    public void runClass() {
+        runner.run(notifier);
+    }
+}
@@ -0,0 +1,55 @@
+package org.junit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.benchmarks.fixtures.SleepingTests;
+import org.junit.experimental.ParallelComputer;
+import org.junit.runner.Computer;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Wall-clock time of a suite of tests that only wait, run serially, with the
+ * bounded shared pool of {@link ParallelComputer} and with virtual threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class SleepHeavySuiteBenchmark {
+    private static final Class<?>[] CLASSES = {
+            SleepingTests.class, SleepingTests.class, SleepingTests.class, SleepingTests.class
+    };
+
+    @Param({"serial", "bounded", "virtualThreads"})
+    public String computer;
+
+    private Computer createComputer() {
+        if (computer.equals("serial")) {
+            return Computer.serial();
+        } else if (computer.equals("bounded")) {
+            return ParallelComputer.bounded(true, true);
+        } else if (computer.equals("virtualThreads")) {
+            return ParallelComputer.virtualThreads(true, true, 1000);
+        }
+        throw new IllegalArgumentException("Unknown computer " + computer);
+    }
+
+    @Benchmark
+    public Result run() {
+        return new JUnitCore().run(Request.classes(createComputer(), CLASSES));
+    }
+}
@@ -0,0 +1,61 @@
+package org.junit.benchmarks;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.rules.TemporaryFolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Creating and deleting an empty {@link TemporaryFolder} from 64 threads that
+ * share one parent folder.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(64)
+public class TemporaryFolderBenchmark {
+    private File parentFolder;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        parentFolder = File.createTempFile("TemporaryFolderBenchmark", "");
+        parentFolder.delete();
+        parentFolder.mkdir();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        File[] files = parentFolder.listFiles();
+        if (files != null) {
+            for (File each : files) {
+                each.delete();
+            }
+        }
+        parentFolder.delete();
+    }
+
+    @Benchmark
+    public File createAndDelete() throws Exception {
+        TemporaryFolder folder = new TemporaryFolder(parentFolder);
+        folder.create();
+        File root = folder.getRoot();
+        folder.delete();
+        return root;
+    }
+}
@@ -0,0 +1,49 @@
+package org.junit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.runners.model.TestClass;
+import org.junit.runners.model.TestClassCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of scanning a test class for annotated methods and fields, and of
+ * getting it from the {@link TestClassCache} instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TestClassBenchmark {
+    @Param({"plain", "rule", "beforeAfter"})
+    public String fixture;
+
+    private Class<?> fixtureClass;
+
+    @Setup
+    public void setUp() {
+        fixtureClass = RunnerOverheadBenchmark.fixtureClass(fixture);
+    }
+
+    @Benchmark
+    public TestClass scan() {
+        return new TestClass(fixtureClass);
+    }
+
+    @Benchmark
+    public TestClass cached() {
+        return TestClassCache.get(fixtureClass);
+    }
+}
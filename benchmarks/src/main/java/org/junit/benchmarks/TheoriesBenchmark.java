@@ -0,0 +1,45 @@
+package org.junit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.benchmarks.fixtures.SixParameterTheory;
+import org.junit.experimental.theories.Theories;
+import org.junit.runner.notification.RunNotifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Running a theory with six parameters over six data points, which evaluates
+ * a {@code Theories.TheoryAnchor} with all 46,656 assignments. Run it with
+ * {@code -prof gc} to see the allocation rate of the assignment search.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TheoriesBenchmark {
+    private Theories runner;
+
+    private RunNotifier notifier;
+
+    @Setup
+    public void setUp() throws Exception {
+        runner = new Theories(SixParameterTheory.class);
+        notifier = new RunNotifier();
+    }
+
+    @Benchmark
+    public void sixParameters() {
+        runner.run(notifier);
+    }
+}
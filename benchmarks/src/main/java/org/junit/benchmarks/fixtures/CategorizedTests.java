@@ -0,0 +1,64 @@
+package org.junit.benchmarks.fixtures;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Ten empty tests in a class with a category, most of them with categories of
+ * their own.
+ */
+@Category(CategorizedTests.Unit.class)
+public class CategorizedTests {
+    public interface Unit {}
+    public interface Slow {}
+    public interface Database extends Slow {}
+    public interface Network extends Slow {}
+    public interface Flaky {}
+
+    @Test
+    public void test00() {
+    }
+
+    @Test
+    @Category(Slow.class)
+    public void test01() {
+    }
+
+    @Test
+    @Category(Database.class)
+    public void test02() {
+    }
+
+    @Test
+    @Category(Network.class)
+    public void test03() {
+    }
+
+    @Test
+    @Category({Database.class, Flaky.class})
+    public void test04() {
+    }
+
+    @Test
+    @Category(Flaky.class)
+    public void test05() {
+    }
+
+    @Test
+    public void test06() {
+    }
+
+    @Test
+    @Category({Network.class, Database.class})
+    public void test07() {
+    }
+
+    @Test
+    @Category(Slow.class)
+    public void test08() {
+    }
+
+    @Test
+    public void test09() {
+    }
+}
@@ -0,0 +1,48 @@
+package org.junit.benchmarks.fixtures;
+
+import org.junit.Test;
+
+/**
+ * Ten empty tests.
+ */
+public class EmptyTests {
+    @Test
+    public void test00() {
+    }
+
+    @Test
+    public void test01() {
+    }
+
+    @Test
+    public void test02() {
+    }
+
+    @Test
+    public void test03() {
+    }
+
+    @Test
+    public void test04() {
+    }
+
+    @Test
+    public void test05() {
+    }
+
+    @Test
+    public void test06() {
+    }
+
+    @Test
+    public void test07() {
+    }
+
+    @Test
+    public void test08() {
+    }
+
+    @Test
+    public void test09() {
+    }
+}
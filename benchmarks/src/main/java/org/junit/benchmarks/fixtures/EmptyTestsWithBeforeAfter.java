@@ -0,0 +1,58 @@
+package org.junit.benchmarks.fixtures;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Ten empty tests with empty {@code @Before} and {@code @After} methods.
+ */
+public class EmptyTestsWithBeforeAfter {
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    @Test
+    public void test00() {
+    }
+
+    @Test
+    public void test01() {
+    }
+
+    @Test
+    public void test02() {
+    }
+
+    @Test
+    public void test03() {
+    }
+
+    @Test
+    public void test04() {
+    }
+
+    @Test
+    public void test05() {
+    }
+
+    @Test
+    public void test06() {
+    }
+
+    @Test
+    public void test07() {
+    }
+
+    @Test
+    public void test08() {
+    }
+
+    @Test
+    public void test09() {
+    }
+}
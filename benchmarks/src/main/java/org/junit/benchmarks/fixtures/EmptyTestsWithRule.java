@@ -0,0 +1,53 @@
+package org.junit.benchmarks.fixtures;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestName;
+
+/**
+ * Ten empty tests with a {@code TestName} rule.
+ */
+public class EmptyTestsWithRule {
+    @Rule
+    public final TestName name = new TestName();
+
+    @Test
+    public void test00() {
+    }
+
+    @Test
+    public void test01() {
+    }
+
+    @Test
+    public void test02() {
+    }
+
+    @Test
+    public void test03() {
+    }
+
+    @Test
+    public void test04() {
+    }
+
+    @Test
+    public void test05() {
+    }
+
+    @Test
+    public void test06() {
+    }
+
+    @Test
+    public void test07() {
+    }
+
+    @Test
+    public void test08() {
+    }
+
+    @Test
+    public void test09() {
+    }
+}
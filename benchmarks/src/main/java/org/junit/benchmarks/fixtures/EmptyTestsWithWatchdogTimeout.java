@@ -0,0 +1,58 @@
+package org.junit.benchmarks.fixtures;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Ten empty tests with a {@code Timeout} rule that uses the shared watchdog.
+ */
+public class EmptyTestsWithWatchdogTimeout {
+    @Rule
+    public final Timeout timeout = Timeout.builder()
+            .withTimeout(10, TimeUnit.SECONDS)
+            .withWatchdog(true)
+            .build();
+
+    @Test
+    public void test00() {
+    }
+
+    @Test
+    public void test01() {
+    }
+
+    @Test
+    public void test02() {
+    }
+
+    @Test
+    public void test03() {
+    }
+
+    @Test
+    public void test04() {
+    }
+
+    @Test
+    public void test05() {
+    }
+
+    @Test
+    public void test06() {
+    }
+
+    @Test
+    public void test07() {
+    }
+
+    @Test
+    public void test08() {
+    }
+
+    @Test
+    public void test09() {
+    }
+}
@@ -0,0 +1,70 @@
+package org.junit.benchmarks.fixtures;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * A large suite: {@link #ROWS} parameter sets with ten tests each.
+ */
+@RunWith(Parameterized.class)
+public class ManyParameters {
+    public static final int ROWS = 1000;
+
+    @Parameters(name = "{index}")
+    public static List<Object[]> data() {
+        List<Object[]> rows = new ArrayList<Object[]>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[] {i});
+        }
+        return rows;
+    }
+
+    @Parameter
+    public int value;
+
+    @Test
+    public void test00() {
+    }
+
+    @Test
+    public void test01() {
+    }
+
+    @Test
+    public void test02() {
+    }
+
+    @Test
+    public void test03() {
+    }
+
+    @Test
+    public void test04() {
+    }
+
+    @Test
+    public void test05() {
+    }
+
+    @Test
+    public void test06() {
+    }
+
+    @Test
+    public void test07() {
+    }
+
+    @Test
+    public void test08() {
+    }
+
+    @Test
+    public void test09() {
+    }
+}
@@ -0,0 +1,20 @@
+package org.junit.benchmarks.fixtures;
+
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+/**
+ * A theory with six parameters over six data points, which is run with all
+ * 46,656 assignments.
+ */
+@RunWith(Theories.class)
+public class SixParameterTheory {
+    @DataPoints
+    public static int[] VALUES = {0, 1, 2, 3, 4, 5};
+
+    @Theory
+    public void theory(int a, int b, int c, int d, int e, int f) {
+    }
+}
@@ -0,0 +1,111 @@
+package org.junit.benchmarks.fixtures;
+
+import org.junit.Test;
+
+/**
+ * Twenty tests that each block for {@link #SLEEP_MILLIS}, standing in for
+ * tests that wait on I/O.
+ */
+public class SleepingTests {
+    public static final long SLEEP_MILLIS = 20;
+
+    @Test
+    public void test00() throws InterruptedException {
+        Thread.sleep(SLEEP_MILLIS);
+    }
+
+    @Test
+    public void test01() throws InterruptedException {
+        Thread.sleep(SLEEP_MILLIS);
+    }
+
+    @Test
+    public void test02() throws InterruptedException {
+        Thread.sleep(SLEEP_MILLIS);
+    }
+
+    @Test
+    public void test03() throws InterruptedException {
+        Thread.sleep(SLEEP_MILLIS);
+    }
+
+    @Test
+    public void test04() throws InterruptedException {
+        Thread.sleep(SLEEP_MILLIS);
+    }
+
+    @Test
+    public void test05() throws InterruptedException {
+        Thread.sleep(SLEEP_MILLIS);
+    }
+
+    @Test
+    public void test06() throws InterruptedException {
+        Thread.sleep(SLEEP_MILLIS);
+    }
+
+    @Test
+    public void test07() throws InterruptedException {
+        Thread.sleep(SLEEP_MILLIS);
+    }
+
+    @Test
+    public void test08() throws InterruptedException {
+        Thread.sleep(SLEEP_MILLIS);
+    }
+
+    @Test
+    public void test09() throws InterruptedException {
+        Thread.sleep(SLEEP_MILLIS);
+    }
+
+    @Test
+    public void test10() throws InterruptedException {
+        Thread.sleep(SLEEP_MILLIS);
+    }
+
+    @Test
+    public void test11() throws InterruptedException {
+        Thread.sleep(SLEEP_MILLIS);
+    }
+
+    @Test
+    public void test12() throws InterruptedException {
+        Thread.sleep(SLEEP_MILLIS);
+    }
+
+    @Test
+    public void test13() throws InterruptedException {
+        Thread.sleep(SLEEP_MILLIS);
+    }
+
+    @Test
+    public void test14() throws InterruptedException {
+        Thread.sleep(SLEEP_MILLIS);
+    }
+
+    @Test
+    public void test15() throws InterruptedException {
+        Thread.sleep(SLEEP_MILLIS);
+    }
+
+    @Test
+    public void test16() throws InterruptedException {
+        Thread.sleep(SLEEP_MILLIS);
+    }
+
+    @Test
+    public void test17() throws InterruptedException {
+        Thread.sleep(SLEEP_MILLIS);
+    }
+
+    @Test
+    public void test18() throws InterruptedException {
+        Thread.sleep(SLEEP_MILLIS);
+    }
+
+    @Test
+    public void test19() throws InterruptedException {
+        Thread.sleep(SLEEP_MILLIS);
+    }
+}
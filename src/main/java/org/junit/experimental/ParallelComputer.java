@@ -1,8 +1,13 @@
 package org.junit.experimental;
 
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.runner.Computer;
 import org.junit.runner.Runner;
@@ -16,9 +21,33 @@ public class ParallelComputer extends Computer {
 
     private final boolean methods;
 
+    private final WorkerPool pool;
+
+    private final int maxVirtualThreads;
+
     public ParallelComputer(boolean classes, boolean methods) {
+        this(classes, methods, null, 0);
+    }
+
+    /**
+     * Creates a computer that runs classes and/or methods on a single pool of
+     * {@code parallelism} worker threads, shared by all levels of the suite.
+     * A runner waiting for its children runs its own queued children itself,
+     * so nested parallel runners never deadlock, even with one worker.
+     *
+     * @param parallelism the number of worker threads; must be positive
+     * @since 4.13
+     */
+    public ParallelComputer(boolean classes, boolean methods, int parallelism) {
+        this(classes, methods, new WorkerPool(parallelism), 0);
+    }
+
+    private ParallelComputer(boolean classes, boolean methods, WorkerPool pool,
+            int maxVirtualThreads) {
         this.classes = classes;
         this.methods = methods;
+        this.pool = pool;
+        this.maxVirtualThreads = maxVirtualThreads;
     }
 
     public static Computer classes() {
@@ -29,6 +58,35 @@ public class ParallelComputer extends Computer {
         return new ParallelComputer(false, true);
     }
 
+    /**
+     * Returns a computer that runs classes and/or methods on a shared pool
+     * with one worker thread per available processor.
+     *
+     * @since 4.13
+     */
+    public static Computer bounded(boolean classes, boolean methods) {
+        return new ParallelComputer(classes, methods,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Returns a computer that runs each child of the parallelized classes
+     * and/or suite on its own virtual thread, or on a new platform thread if
+     * the JVM has no virtual threads. At most {@code maxInFlight} children of
+     * each runner are running at the same time.
+     *
+     * @see VirtualThreadScheduler
+     * @since 4.13
+     */
+    public static Computer virtualThreads(boolean classes, boolean methods,
+            int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException(
+                    "maxInFlight must be positive, but was " + maxInFlight);
+        }
+        return new ParallelComputer(classes, methods, null, maxInFlight);
+    }
+
     private static Runner parallelize(Runner runner) {
         if (runner instanceof ParentRunner) {
             ((ParentRunner<?>) runner).setScheduler(new RunnerScheduler() {
@@ -51,17 +109,179 @@ public class ParallelComputer extends Computer {
         return runner;
     }
 
+    private Runner schedule(Runner runner, boolean parallel) {
+        if (maxVirtualThreads > 0) {
+            if (parallel && runner instanceof ParentRunner) {
+                ((ParentRunner<?>) runner).setScheduler(
+                        new VirtualThreadScheduler(maxVirtualThreads));
+            }
+            return runner;
+        }
+        if (pool == null) {
+            return parallel ? parallelize(runner) : runner;
+        }
+        if (runner instanceof ParentRunner) {
+            ((ParentRunner<?>) runner).setScheduler(new HelpingScheduler(pool, parallel));
+        }
+        return runner;
+    }
+
     @Override
     public Runner getSuite(RunnerBuilder builder, java.lang.Class<?>[] classes)
             throws InitializationError {
         Runner suite = super.getSuite(builder, classes);
-        return this.classes ? parallelize(suite) : suite;
+        // With a shared pool the suite always gets a scheduler, so that the
+        // pool stays alive from the first class to the last.
+        return schedule(suite, this.classes);
     }
 
     @Override
     protected Runner getRunner(RunnerBuilder builder, Class<?> testClass)
             throws Throwable {
         Runner runner = super.getRunner(builder, testClass);
-        return methods ? parallelize(runner) : runner;
+        return methods ? schedule(runner, true) : runner;
+    }
+
+    /**
+     * Lazily started pool of daemon threads. The threads are stopped as soon
+     * as the last scheduler using the pool has finished.
+     */
+    private static final class WorkerPool {
+        private final int parallelism;
+
+        private ExecutorService executor; // guarded by this
+
+        private int users; // guarded by this
+
+        WorkerPool(int parallelism) {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException(
+                        "parallelism must be positive, but was " + parallelism);
+            }
+            this.parallelism = parallelism;
+        }
+
+        synchronized ExecutorService acquire() {
+            if (users++ == 0) {
+                executor = Executors.newFixedThreadPool(parallelism, new WorkerThreadFactory());
+            }
+            return executor;
+        }
+
+        synchronized void release() {
+            if (--users == 0) {
+                executor.shutdown();
+                executor = null;
+            }
+        }
+    }
+
+    private static final class WorkerThreadFactory implements ThreadFactory {
+        private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+
+        private final int poolNumber = POOL_NUMBER.incrementAndGet();
+
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "ParallelComputer-" + poolNumber
+                    + "-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    /**
+     * Schedules children on the shared pool. In {@link #finished()} the calling
+     * thread runs every child that no worker has picked up yet and then waits
+     * only for children that are already running on other threads.
+     */
+    private static final class HelpingScheduler implements RunnerScheduler {
+        private final WorkerPool pool;
+
+        private final boolean parallel;
+
+        private final Queue<ChildTask> pending = new ConcurrentLinkedQueue<ChildTask>();
+
+        private ExecutorService executor;
+
+        private int running; // guarded by this
+
+        HelpingScheduler(WorkerPool pool, boolean parallel) {
+            this.pool = pool;
+            this.parallel = parallel;
+        }
+
+        public void schedule(Runnable childStatement) {
+            if (executor == null) {
+                executor = pool.acquire();
+            }
+            if (!parallel) {
+                childStatement.run();
+                return;
+            }
+            ChildTask task = new ChildTask(childStatement);
+            synchronized (this) {
+                running++;
+            }
+            pending.add(task);
+            executor.execute(task);
+        }
+
+        public void finished() {
+            if (executor == null) {
+                return;
+            }
+            try {
+                ChildTask task;
+                while ((task = pending.poll()) != null) {
+                    task.run();
+                }
+                awaitRunningChildren();
+            } finally {
+                executor = null;
+                pool.release();
+            }
+        }
+
+        private synchronized void awaitRunningChildren() {
+            try {
+                while (running > 0) {
+                    wait();
+                }
+            } catch (InterruptedException e) {
+                e.printStackTrace(System.err);
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private synchronized void childFinished() {
+            running--;
+            notifyAll();
+        }
+
+        /**
+         * A child statement that is run at most once, either by a worker or
+         * by the thread waiting in {@link HelpingScheduler#finished()}.
+         */
+        private final class ChildTask implements Runnable {
+            private final Runnable childStatement;
+
+            private final AtomicBoolean claimed = new AtomicBoolean();
+
+            ChildTask(Runnable childStatement) {
+                this.childStatement = childStatement;
+            }
+
+            public void run() {
+                if (claimed.compareAndSet(false, true)) {
+                    try {
+                        childStatement.run();
+                    } finally {
+                        childFinished();
+                    }
+                }
+            }
+        }
     }
 }
@@ -0,0 +1,134 @@
+package org.junit.experimental;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.runners.model.RunnerScheduler;
+
+/**
+ * A {@link RunnerScheduler} that runs every child statement on its own
+ * virtual thread. Virtual threads are looked up reflectively, so on a JVM
+ * without them each child runs on a new platform thread instead.
+ *
+ * <p>At most {@code maxInFlight} children run at the same time;
+ * {@link #schedule(Runnable)} blocks until one of the running children has
+ * finished. This is mostly useful for tests that spend their time waiting on
+ * I/O, where the number of platform threads would otherwise be the limit.
+ *
+ * <pre>
+ * JUnitCore.runClasses(ParallelComputer.virtualThreads(true, true, 1000), classes);
+ * </pre>
+ *
+ * @see ParallelComputer#virtualThreads(boolean, boolean, int)
+ * @since 4.13
+ */
+public class VirtualThreadScheduler implements RunnerScheduler {
+    private static final class Holder {
+        /*
+         * Null unless virtual threads can be used. On JDK 19 and 20 the method
+         * exists, but throws unless preview features are enabled, so it is
+         * called once to find out.
+         */
+        static final Method newVirtualThreadPerTaskExecutorMethod;
+
+        static {
+            Method newVirtualThreadPerTaskExecutor = null;
+            try {
+                newVirtualThreadPerTaskExecutor = Executors.class.getMethod(
+                        "newVirtualThreadPerTaskExecutor");
+                invoke(newVirtualThreadPerTaskExecutor).shutdown();
+            } catch (NoSuchMethodException e) {
+                newVirtualThreadPerTaskExecutor = null;
+            } catch (SecurityException e) {
+                newVirtualThreadPerTaskExecutor = null;
+            } catch (IllegalAccessException e) {
+                newVirtualThreadPerTaskExecutor = null;
+            } catch (InvocationTargetException e) {
+                newVirtualThreadPerTaskExecutor = null;
+            }
+            newVirtualThreadPerTaskExecutorMethod = newVirtualThreadPerTaskExecutor;
+        }
+
+        static ExecutorService invoke(Method newVirtualThreadPerTaskExecutor)
+                throws IllegalAccessException, InvocationTargetException {
+            return (ExecutorService) newVirtualThreadPerTaskExecutor.invoke(null);
+        }
+    }
+
+    private final Semaphore inFlight;
+
+    private ExecutorService executor;
+
+    /**
+     * Creates a scheduler that runs at most {@code maxInFlight} children at
+     * the same time.
+     */
+    public VirtualThreadScheduler(int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException(
+                    "maxInFlight must be positive, but was " + maxInFlight);
+        }
+        inFlight = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Returns {@code true} if children are run on virtual threads, and
+     * {@code false} if this JVM does not support them.
+     */
+    public static boolean isVirtualThreadSupported() {
+        return Holder.newVirtualThreadPerTaskExecutorMethod != null;
+    }
+
+    public void schedule(final Runnable childStatement) {
+        if (executor == null) {
+            executor = newExecutor();
+        }
+        inFlight.acquireUninterruptibly();
+        try {
+            executor.execute(new Runnable() {
+                public void run() {
+                    try {
+                        childStatement.run();
+                    } finally {
+                        inFlight.release();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    public void finished() {
+        if (executor == null) {
+            return;
+        }
+        try {
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            e.printStackTrace(System.err);
+        } finally {
+            executor = null;
+        }
+    }
+
+    private static ExecutorService newExecutor() {
+        if (Holder.newVirtualThreadPerTaskExecutorMethod != null) {
+            try {
+                return Holder.invoke(Holder.newVirtualThreadPerTaskExecutorMethod);
+            } catch (IllegalAccessException e) {
+                // fallthrough
+            } catch (InvocationTargetException e) {
+                // fallthrough
+            }
+        }
+        return Executors.newCachedThreadPool();
+    }
+}
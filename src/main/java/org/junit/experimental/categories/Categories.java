@@ -4,7 +4,6 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
@@ -117,6 +116,7 @@ public class Categories extends Suite {
         private final Set<Class<?>> excluded;
         private final boolean includedAny;
         private final boolean excludedAny;
+        private final CategoryMasks masks;
 
         public static CategoryFilter include(boolean matchAny, Class<?>... categories) {
             return new CategoryFilter(matchAny, categories, true, null);
@@ -153,6 +153,7 @@ public class Categories extends Suite {
             excludedAny = true;
             included = nullableClassToSet(includedCategory);
             excluded = nullableClassToSet(excludedCategory);
+            masks = new CategoryMasks(included, excluded);
         }
 
         protected CategoryFilter(boolean matchAnyIncludes, Set<Class<?>> includes,
@@ -161,6 +162,7 @@ public class Categories extends Suite {
             excludedAny = matchAnyExcludes;
             included = copyAndRefine(includes);
             excluded = copyAndRefine(excludes);
+            masks = new CategoryMasks(included, excluded);
         }
 
         private CategoryFilter(boolean matchAnyIncludes, Class<?>[] inclusions,
@@ -169,6 +171,7 @@ public class Categories extends Suite {
             excludedAny = matchAnyExcludes;
             included = createSet(inclusions);
             excluded = createSet(exclusions);
+            masks = new CategoryMasks(included, excluded);
         }
 
         /**
@@ -217,20 +220,20 @@ public class Categories extends Suite {
         }
 
         private boolean hasCorrectCategoryAnnotation(Description description) {
-            final Set<Class<?>> childCategories= categories(description);
+            final long[] childCategories= masks.of(description);
 
             // If a child has no categories, immediately return.
-            if (childCategories.isEmpty()) {
+            if (childCategories == null) {
                 return included.isEmpty();
             }
 
             if (!excluded.isEmpty()) {
                 if (excludedAny) {
-                    if (matchesAnyParentCategories(childCategories, excluded)) {
+                    if (CategoryMasks.matchesAny(childCategories, masks.excluded)) {
                         return false;
                     }
                 } else {
-                    if (matchesAllParentCategories(childCategories, excluded)) {
+                    if (CategoryMasks.matchesAll(childCategories, masks.excluded)) {
                         return false;
                     }
                 }
@@ -241,60 +244,13 @@ public class Categories extends Suite {
                 return true;
             } else {
                 if (includedAny) {
-                    return matchesAnyParentCategories(childCategories, included);
+                    return CategoryMasks.matchesAny(childCategories, masks.included);
                 } else {
-                    return matchesAllParentCategories(childCategories, included);
+                    return CategoryMasks.matchesAll(childCategories, masks.included);
                 }
             }
         }
 
-        /**
-         * @return <tt>true</tt> if at least one (any) parent category match a child, otherwise <tt>false</tt>.
-         * If empty <tt>parentCategories</tt>, returns <tt>false</tt>.
-         */
-        private boolean matchesAnyParentCategories(Set<Class<?>> childCategories, Set<Class<?>> parentCategories) {
-            for (Class<?> parentCategory : parentCategories) {
-                if (hasAssignableTo(childCategories, parentCategory)) {
-                    return true;
-                }
-            }
-            return false;
-        }
-
-        /**
-         * @return <tt>false</tt> if at least one parent category does not match children, otherwise <tt>true</tt>.
-         * If empty <tt>parentCategories</tt>, returns <tt>true</tt>.
-         */
-        private boolean matchesAllParentCategories(Set<Class<?>> childCategories, Set<Class<?>> parentCategories) {
-            for (Class<?> parentCategory : parentCategories) {
-                if (!hasAssignableTo(childCategories, parentCategory)) {
-                    return false;
-                }
-            }
-            return true;
-        }
-
-        private static Set<Class<?>> categories(Description description) {
-            Set<Class<?>> categories= new HashSet<Class<?>>();
-            Collections.addAll(categories, directCategories(description));
-            Collections.addAll(categories, directCategories(parentDescription(description)));
-            return categories;
-        }
-
-        private static Description parentDescription(Description description) {
-            Class<?> testClass= description.getTestClass();
-            return testClass == null ? null : Description.createSuiteDescription(testClass);
-        }
-
-        private static Class<?>[] directCategories(Description description) {
-            if (description == null) {
-                return new Class<?>[0];
-            }
-
-            Category annotation= description.getAnnotation(Category.class);
-            return annotation == null ? new Class<?>[0] : annotation.value();
-        }
-
         private static Set<Class<?>> copyAndRefine(Set<Class<?>> classes) {
             Set<Class<?>> c= new LinkedHashSet<Class<?>>();
             if (classes != null) {
@@ -339,15 +295,6 @@ public class Categories extends Suite {
         return annotation == null || annotation.matchAny();
     }
 
-    private static boolean hasAssignableTo(Set<Class<?>> assigns, Class<?> to) {
-        for (final Class<?> from : assigns) {
-            if (to.isAssignableFrom(from)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     private static Set<Class<?>> createSet(Class<?>[] classes) {
         // Not throwing a NPE if t is null is a bad idea, but it's the behavior from JUnit 4.12
         // for include(boolean, Class<?>...) and exclude(boolean, Class<?>...)
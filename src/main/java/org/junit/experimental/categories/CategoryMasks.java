@@ -0,0 +1,141 @@
+package org.junit.experimental.categories;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.junit.runner.Description;
+
+/**
+ * The categories of tests as bit masks over the categories of a
+ * {@link Categories.CategoryFilter}. Bit {@code i} of the mask of a test is set
+ * if the test has a category that is assignable to the {@code i}-th category
+ * of the filter, so that matching a test against the filter takes a few
+ * bitwise operations. The masks of categories and of test classes are computed
+ * once and cached.
+ */
+final class CategoryMasks {
+    private static final long[] NO_CATEGORIES = new long[0];
+
+    private final List<Class<?>> categories = new ArrayList<Class<?>>();
+
+    private final int words;
+
+    final long[] included;
+
+    final long[] excluded;
+
+    private final ConcurrentMap<Class<?>, long[]> categoryMasks =
+            new ConcurrentHashMap<Class<?>, long[]>();
+
+    private final ConcurrentMap<Class<?>, long[]> classMasks =
+            new ConcurrentHashMap<Class<?>, long[]>();
+
+    CategoryMasks(Set<Class<?>> included, Set<Class<?>> excluded) {
+        for (Class<?> each : included) {
+            if (!categories.contains(each)) {
+                categories.add(each);
+            }
+        }
+        for (Class<?> each : excluded) {
+            if (!categories.contains(each)) {
+                categories.add(each);
+            }
+        }
+        words = (categories.size() + 63) / 64;
+        this.included = maskOf(included);
+        this.excluded = maskOf(excluded);
+    }
+
+    private long[] maskOf(Set<Class<?>> filterCategories) {
+        long[] mask = new long[words];
+        for (Class<?> each : filterCategories) {
+            int index = categories.indexOf(each);
+            mask[index >> 6] |= 1L << index;
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the mask of the categories of {@code description} and of its
+     * test class, or {@code null} if neither has a category.
+     */
+    long[] of(Description description) {
+        Class<?> testClass = description.getTestClass();
+        long[] classMask = testClass == null ? NO_CATEGORIES : classMask(testClass);
+        Category annotation = description.getAnnotation(Category.class);
+        if (annotation == null || annotation.value().length == 0) {
+            return classMask == NO_CATEGORIES ? null : classMask;
+        }
+        long[] mask = classMask == NO_CATEGORIES ? new long[words] : classMask.clone();
+        for (Class<?> each : annotation.value()) {
+            or(mask, categoryMask(each));
+        }
+        return mask;
+    }
+
+    private long[] classMask(Class<?> testClass) {
+        long[] mask = classMasks.get(testClass);
+        if (mask == null) {
+            Category annotation = testClass.getAnnotation(Category.class);
+            if (annotation == null || annotation.value().length == 0) {
+                mask = NO_CATEGORIES;
+            } else {
+                mask = new long[words];
+                for (Class<?> each : annotation.value()) {
+                    or(mask, categoryMask(each));
+                }
+            }
+            classMasks.put(testClass, mask);
+        }
+        return mask;
+    }
+
+    private long[] categoryMask(Class<?> category) {
+        long[] mask = categoryMasks.get(category);
+        if (mask == null) {
+            mask = new long[words];
+            for (int i = 0; i < categories.size(); i++) {
+                if (categories.get(i).isAssignableFrom(category)) {
+                    mask[i >> 6] |= 1L << i;
+                }
+            }
+            categoryMasks.put(category, mask);
+        }
+        return mask;
+    }
+
+    private static void or(long[] mask, long[] other) {
+        for (int i = 0; i < mask.length; i++) {
+            mask[i] |= other[i];
+        }
+    }
+
+    /**
+     * Returns {@code true} if {@code mask} has any of the categories of
+     * {@code filterMask}.
+     */
+    static boolean matchesAny(long[] mask, long[] filterMask) {
+        for (int i = 0; i < mask.length; i++) {
+            if ((mask[i] & filterMask[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns {@code true} if {@code mask} has all categories of
+     * {@code filterMask}.
+     */
+    static boolean matchesAll(long[] mask, long[] filterMask) {
+        for (int i = 0; i < mask.length; i++) {
+            if ((mask[i] & filterMask[i]) != filterMask[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,159 @@
+package org.junit.experimental.impact;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Set;
+
+/**
+ * Reads the class files of the classes of a project, i.e. the classes that
+ * are loaded from directories rather than from JARs.
+ */
+final class ClassFiles {
+    private static final int CLASS_FILE_MAGIC = 0xCAFEBABE;
+
+    private ClassFiles() {
+    }
+
+    /**
+     * Returns the bytes of the class file of {@code className} if the class is
+     * found by {@code loader} in a directory, or {@code null} otherwise.
+     */
+    static byte[] read(ClassLoader loader, String className) throws IOException {
+        URL url = loader.getResource(className.replace('.', '/') + ".class");
+        if (url == null || !"file".equals(url.getProtocol())) {
+            return null;
+        }
+        InputStream in = url.openStream();
+        try {
+            return readFully(in);
+        } finally {
+            in.close();
+        }
+    }
+
+    static byte[] readFully(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Returns the first eight bytes of the SHA-1 digest of a class file.
+     */
+    static long hash(byte[] classFile) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1").digest(classFile);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not available", e);
+        }
+        long hash = 0;
+        for (int i = 0; i < 8; i++) {
+            hash = hash << 8 | digest[i] & 0xFF;
+        }
+        return hash;
+    }
+
+    /**
+     * Adds the names of the classes that a class file refers to in its
+     * constant pool, either as classes or in type descriptors, to
+     * {@code names}.
+     */
+    static void addReferencedClasses(byte[] classFile, Set<String> names) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(classFile));
+        if (in.readInt() != CLASS_FILE_MAGIC) {
+            throw new IOException("Not a class file");
+        }
+        in.readUnsignedShort(); // minor version
+        in.readUnsignedShort(); // major version
+        int count = in.readUnsignedShort();
+        String[] utf8 = new String[count];
+        int[] classNameIndices = new int[count];
+        int classes = 0;
+        for (int i = 1; i < count; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1: // Utf8
+                    utf8[i] = in.readUTF();
+                    break;
+                case 7: // Class
+                    classNameIndices[classes++] = in.readUnsignedShort();
+                    break;
+                case 8: // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    in.readUnsignedShort();
+                    break;
+                case 15: // MethodHandle
+                    in.readUnsignedByte();
+                    in.readUnsignedShort();
+                    break;
+                case 3: // Integer
+                case 4: // Float
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    in.readInt();
+                    break;
+                case 5: // Long
+                case 6: // Double
+                    in.readLong();
+                    i++; // takes two entries
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+        for (int i = 0; i < classes; i++) {
+            String name = utf8[classNameIndices[i]];
+            if (name.charAt(0) == '[') {
+                addDescriptorClasses(name, names);
+            } else {
+                names.add(name.replace('/', '.'));
+            }
+        }
+        for (String each : utf8) {
+            if (each != null && each.indexOf(';') > 0) {
+                addDescriptorClasses(each, names);
+            }
+        }
+    }
+
+    /**
+     * Adds the classes of the {@code Lname;} types in a descriptor or
+     * signature. Strings that only look like descriptors add names of classes
+     * that do not exist, which do no harm.
+     */
+    private static void addDescriptorClasses(String descriptor, Set<String> names) {
+        int start = descriptor.indexOf('L');
+        while (start >= 0) {
+            int end = descriptor.indexOf(';', start);
+            if (end < 0) {
+                return;
+            }
+            int typeArguments = descriptor.indexOf('<', start);
+            if (typeArguments >= 0 && typeArguments < end) {
+                end = typeArguments;
+            }
+            String name = descriptor.substring(start + 1, end);
+            if (name.length() > 0 && name.indexOf(' ') < 0) {
+                names.add(name.replace('/', '.'));
+            }
+            start = descriptor.indexOf('L', end);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.junit.experimental.impact;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A class loader that records which classes of a project are loaded, so that
+ * an {@link ImpactIndex} learns about the classes that tests load by
+ * reflection. No agent is needed: the classes in the given directories are
+ * defined by the tracer itself, and all other classes are loaded by its
+ * parent.
+ *
+ * <p>Load the test classes through the tracer, and pass it to
+ * {@link ImpactIndex#recorder(ClassLoader)}:
+ *
+ * <pre>
+ * ClassLoadTracer tracer = new ClassLoadTracer(getClass().getClassLoader(),
+ *         new File("target/classes"), new File("target/test-classes"));
+ * Class&lt;?&gt; testClass = tracer.loadClass("com.example.CalculatorTest");
+ * JUnitCore core = new JUnitCore();
+ * core.addListener(index.recorder(tracer));
+ * core.run(testClass);
+ * </pre>
+ *
+ * <p>The classes of JUnit have to be loaded by the parent, so their directory
+ * must not be passed to the tracer.
+ *
+ * @since 4.13
+ */
+public class ClassLoadTracer extends ClassLoader {
+    private final File[] classDirectories;
+
+    private final List<String> loadedClasses = new ArrayList<String>(); // guarded by this
+
+    /**
+     * Creates a tracer that defines the classes found in
+     * {@code classDirectories} and delegates to {@code parent} for all other
+     * classes.
+     */
+    public ClassLoadTracer(ClassLoader parent, File... classDirectories) {
+        super(parent);
+        this.classDirectories = classDirectories.clone();
+    }
+
+    @Override
+    protected synchronized Class<?> loadClass(String name, boolean resolve)
+            throws ClassNotFoundException {
+        Class<?> c = findLoadedClass(name);
+        if (c == null) {
+            File classFile = findClassFile(name);
+            if (classFile == null) {
+                return super.loadClass(name, resolve);
+            }
+            c = define(name, classFile);
+        }
+        if (resolve) {
+            resolveClass(c);
+        }
+        return c;
+    }
+
+    private File findClassFile(String name) {
+        if (name.startsWith("java.")) {
+            return null;
+        }
+        String path = name.replace('.', File.separatorChar) + ".class";
+        for (File each : classDirectories) {
+            File classFile = new File(each, path);
+            if (classFile.isFile()) {
+                return classFile;
+            }
+        }
+        return null;
+    }
+
+    private Class<?> define(String name, File classFile) throws ClassNotFoundException {
+        byte[] bytes;
+        try {
+            InputStream in = new FileInputStream(classFile);
+            try {
+                bytes = ClassFiles.readFully(in);
+            } finally {
+                in.close();
+            }
+        } catch (IOException e) {
+            throw new ClassNotFoundException(name, e);
+        }
+        Class<?> c = defineClass(name, bytes, 0, bytes.length);
+        loadedClasses.add(name);
+        return c;
+    }
+
+    /**
+     * Returns the number of classes that the tracer has defined so far.
+     */
+    public synchronized int getLoadCount() {
+        return loadedClasses.size();
+    }
+
+    /**
+     * Returns the names of the classes that the tracer defined after it had
+     * defined {@code count} classes, in the order in which they were defined.
+     */
+    public synchronized List<String> getClassesLoadedSince(int count) {
+        return new ArrayList<String>(loadedClasses.subList(count, loadedClasses.size()));
+    }
+}
@@ -0,0 +1,543 @@
+package org.junit.experimental.impact;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.runner.Description;
+import org.junit.runner.Result;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+
+/**
+ * Remembers which classes of a project each test depends on, so that later
+ * runs can be restricted to the tests that are affected by the classes that
+ * changed since.
+ *
+ * <p>The dependencies of a test are the classes that its test class refers
+ * to, directly or through other classes of the project, and, if the test
+ * classes were loaded by a {@link ClassLoadTracer}, the classes that were
+ * loaded while the test ran. Only classes that are loaded from directories
+ * belong to the project; classes from JARs are assumed not to change.
+ * A class has changed if the content of its class file has changed.
+ *
+ * <pre>
+ * ImpactIndex index = ImpactIndex.forFile(new File("target/impact-index"));
+ * Request request = Request.aClass(CalculatorTest.class)
+ *         .filterWith(index.affectedTests(loader));
+ * JUnitCore core = new JUnitCore();
+ * core.addListener(index.recorder(loader));
+ * core.run(request);
+ * </pre>
+ *
+ * <p>Tests that are not in the index yet and tests that failed when they were
+ * last recorded are always selected. The index is saved when a run with a
+ * recorder finishes. It only forgets the old content of a class file when all
+ * tests that depend on the class have been recorded again.
+ *
+ * @since 4.13
+ */
+public class ImpactIndex {
+    private static final int MAGIC = 0x4A554958;
+
+    private static final int VERSION = 1;
+
+    /**
+     * Loads an {@link ImpactIndex} from {@code file}, or creates a new one that
+     * will be saved to {@code file}.
+     */
+    public static ImpactIndex forFile(File file) {
+        ImpactIndex index = new ImpactIndex(file);
+        if (file.exists()) {
+            try {
+                index.read();
+            } catch (IOException e) {
+                e.printStackTrace();
+                file.delete();
+                index = new ImpactIndex(file);
+            }
+        }
+        return index;
+    }
+
+    private final File file;
+
+    private final List<String> classNames = new ArrayList<String>(); // guarded by this
+
+    private final Map<String, Integer> classIndices = new HashMap<String, Integer>(); // guarded by this
+
+    private long[] classHashes = new long[16]; // guarded by this
+
+    private final Map<String, TestEntry> tests = new HashMap<String, TestEntry>(); // guarded by this
+
+    private ImpactIndex(File file) {
+        this.file = file;
+    }
+
+    /**
+     * The classes that a test depends on, as sorted indices into the class
+     * table, and whether the test failed.
+     */
+    private static final class TestEntry {
+        final int[] classes;
+
+        final boolean failed;
+
+        TestEntry(int[] classes, boolean failed) {
+            this.classes = classes;
+            this.failed = failed;
+        }
+    }
+
+    /**
+     * Returns whether the index knows the dependencies of the test.
+     */
+    public synchronized boolean contains(Description test) {
+        return tests.containsKey(test.toString());
+    }
+
+    /**
+     * Returns the names of the classes that the test depended on when it was
+     * last recorded, or {@code null} if the index does not contain the test.
+     */
+    public synchronized Set<String> getDependencies(Description test) {
+        TestEntry entry = tests.get(test.toString());
+        if (entry == null) {
+            return null;
+        }
+        Set<String> names = new HashSet<String>();
+        for (int each : entry.classes) {
+            names.add(classNames.get(each));
+        }
+        return names;
+    }
+
+    /**
+     * Returns the names of the classes in the index whose class files, as
+     * found by {@code loader}, differ from the ones that the tests were
+     * recorded with. Classes that are no longer found in a directory count
+     * as changed.
+     */
+    public Set<String> changedClasses(ClassLoader loader) throws IOException {
+        List<String> names;
+        long[] hashes;
+        synchronized (this) {
+            names = new ArrayList<String>(classNames);
+            hashes = classHashes.clone();
+        }
+        Set<String> changed = new HashSet<String>();
+        for (int i = 0; i < names.size(); i++) {
+            byte[] classFile = ClassFiles.read(loader, names.get(i));
+            if (classFile == null || ClassFiles.hash(classFile) != hashes[i]) {
+                changed.add(names.get(i));
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Returns a filter that selects the tests that are affected by changes to
+     * the classes that {@code loader} finds, see
+     * {@link #changedClasses(ClassLoader)}.
+     */
+    public Filter affectedTests(ClassLoader loader) throws IOException {
+        return affectedTests(changedClasses(loader));
+    }
+
+    /**
+     * Returns a filter that selects the tests that depend on at least one of
+     * the {@code changedClasses}, the tests that are not in the index and the
+     * tests that failed when they were last recorded.
+     */
+    public synchronized Filter affectedTests(Set<String> changedClasses) {
+        BitSet changed = new BitSet(classNames.size());
+        for (String each : changedClasses) {
+            Integer index = classIndices.get(each);
+            if (index != null) {
+                changed.set(index);
+            }
+        }
+        return new AffectedTestsFilter(changed, changedClasses.size());
+    }
+
+    private final class AffectedTestsFilter extends Filter {
+        private final BitSet changed;
+
+        private final int changedCount;
+
+        AffectedTestsFilter(BitSet changed, int changedCount) {
+            this.changed = changed;
+            this.changedCount = changedCount;
+        }
+
+        @Override
+        public boolean shouldRun(Description description) {
+            if (description.isTest()) {
+                return isAffected(description);
+            }
+            for (Description each : description.getChildren()) {
+                if (shouldRun(each)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean isAffected(Description test) {
+            TestEntry entry;
+            synchronized (ImpactIndex.this) {
+                entry = tests.get(test.toString());
+            }
+            if (entry == null || entry.failed) {
+                return true;
+            }
+            for (int each : entry.classes) {
+                if (changed.get(each)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String describe() {
+            return "tests affected by changes to " + changedCount + " classes";
+        }
+    }
+
+    /**
+     * @return a listener that records the dependencies of the tests that are
+     *         run, and saves the index when the run finishes. The class files
+     *         are read through {@code loader}; if it is a
+     *         {@link ClassLoadTracer}, the classes that it loads while a test
+     *         runs are dependencies of the test, too.
+     */
+    public RunListener recorder(ClassLoader loader) {
+        return new Recorder(loader);
+    }
+
+    /**
+     * @return a listener that records the dependencies of the tests that are
+     *         run, reading the class file of each test class through the class
+     *         loader that loaded it.
+     */
+    public RunListener recorder() {
+        return new Recorder(null);
+    }
+
+    /**
+     * Collects the dependencies of the tests of one run. The dependencies of
+     * tests that run at the same time include the classes that the other
+     * tests load.
+     */
+    @RunListener.ThreadSafe
+    private final class Recorder extends RunListener {
+        private final ClassLoader loader;
+
+        private final ClassLoadTracer tracer;
+
+        private final Map<String, Long> currentHashes = new HashMap<String, Long>(); // guarded by this
+
+        private final Map<String, Set<String>> references = new HashMap<String, Set<String>>(); // guarded by this
+
+        private final Map<Description, Integer> loadCounts = new HashMap<Description, Integer>(); // guarded by this
+
+        private final Set<Description> failed = new HashSet<Description>(); // guarded by this
+
+        private final Map<String, Set<String>> recorded = new LinkedHashMap<String, Set<String>>(); // guarded by this
+
+        private final Set<String> recordedFailures = new HashSet<String>(); // guarded by this
+
+        Recorder(ClassLoader loader) {
+            this.loader = loader;
+            this.tracer = loader instanceof ClassLoadTracer ? (ClassLoadTracer) loader : null;
+        }
+
+        @Override
+        public synchronized void testStarted(Description description) {
+            if (tracer != null) {
+                loadCounts.put(description, tracer.getLoadCount());
+            }
+        }
+
+        @Override
+        public synchronized void testFailure(Failure failure) {
+            failed.add(failure.getDescription());
+        }
+
+        @Override
+        public synchronized void testFinished(Description description) throws IOException {
+            String className = description.getClassName();
+            Class<?> testClass = description.getTestClass();
+            ClassLoader classLoader = loader;
+            if (classLoader == null) {
+                classLoader = testClass != null && testClass.getClassLoader() != null
+                        ? testClass.getClassLoader()
+                        : ClassLoader.getSystemClassLoader();
+            }
+            List<String> roots = new ArrayList<String>();
+            roots.add(className);
+            Integer loadCount = loadCounts.remove(description);
+            if (loadCount != null) {
+                roots.addAll(tracer.getClassesLoadedSince(loadCount));
+            }
+            String key = description.toString();
+            recorded.put(key, closure(classLoader, roots));
+            if (failed.remove(description)) {
+                recordedFailures.add(key);
+            } else {
+                recordedFailures.remove(key);
+            }
+        }
+
+        /**
+         * Returns the project classes that are reachable from {@code roots}.
+         */
+        private Set<String> closure(ClassLoader classLoader, List<String> roots)
+                throws IOException {
+            Set<String> reached = new HashSet<String>();
+            List<String> pending = new ArrayList<String>(roots);
+            while (!pending.isEmpty()) {
+                String name = pending.remove(pending.size() - 1);
+                if (reached.contains(name)) {
+                    continue;
+                }
+                Set<String> referenced = references(classLoader, name);
+                if (referenced != null) {
+                    reached.add(name);
+                    pending.addAll(referenced);
+                }
+            }
+            return reached;
+        }
+
+        /**
+         * Returns the classes that the class refers to, or {@code null} if
+         * the class does not belong to the project.
+         */
+        private Set<String> references(ClassLoader classLoader, String name)
+                throws IOException {
+            if (currentHashes.containsKey(name)) {
+                return references.get(name);
+            }
+            byte[] classFile = ClassFiles.read(classLoader, name);
+            if (classFile == null) {
+                currentHashes.put(name, null);
+                return null;
+            }
+            Set<String> referenced = new HashSet<String>();
+            ClassFiles.addReferencedClasses(classFile, referenced);
+            currentHashes.put(name, ClassFiles.hash(classFile));
+            references.put(name, referenced);
+            return referenced;
+        }
+
+        @Override
+        public synchronized void testRunFinished(Result result) throws IOException {
+            update(recorded, recordedFailures, currentHashes);
+            recorded.clear();
+            recordedFailures.clear();
+            save();
+        }
+    }
+
+    private synchronized void update(Map<String, Set<String>> recorded,
+            Set<String> recordedFailures, Map<String, Long> currentHashes) {
+        for (Map.Entry<String, Set<String>> each : recorded.entrySet()) {
+            int[] classes = new int[each.getValue().size()];
+            int i = 0;
+            for (String className : each.getValue()) {
+                classes[i++] = indexOf(className, currentHashes.get(className));
+            }
+            Arrays.sort(classes);
+            tests.put(each.getKey(),
+                    new TestEntry(classes, recordedFailures.contains(each.getKey())));
+        }
+        // Keep the old content of classes that tests which were not recorded
+        // again depend on, so that those tests are still selected.
+        BitSet stale = new BitSet(classNames.size());
+        for (Map.Entry<String, TestEntry> each : tests.entrySet()) {
+            if (!recorded.containsKey(each.getKey())) {
+                for (int index : each.getValue().classes) {
+                    stale.set(index);
+                }
+            }
+        }
+        for (int i = 0; i < classNames.size(); i++) {
+            Long hash = currentHashes.get(classNames.get(i));
+            if (hash != null && !stale.get(i)) {
+                classHashes[i] = hash;
+            }
+        }
+    }
+
+    private int indexOf(String className, long hash) {
+        Integer index = classIndices.get(className);
+        if (index != null) {
+            return index;
+        }
+        return add(className, hash);
+    }
+
+    private int add(String className, long hash) {
+        int index = classNames.size();
+        classNames.add(className);
+        classIndices.put(className, index);
+        if (index == classHashes.length) {
+            long[] hashes = new long[2 * index];
+            System.arraycopy(classHashes, 0, hashes, 0, index);
+            classHashes = hashes;
+        }
+        classHashes[index] = hash;
+        return index;
+    }
+
+    /*
+     * The file starts with MAGIC and VERSION, followed by the class table
+     * (count, then name and hash of each class) and the tests (count, then
+     * name, whether the test failed, and the number of classes followed by the
+     * differences between consecutive class indices). Counts and differences
+     * are written as variable-length integers.
+     */
+
+    private void read() throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new FileInputStream(file)));
+        try {
+            if (in.readInt() != MAGIC || in.readUnsignedByte() != VERSION) {
+                throw new IOException("Not an impact index: " + file);
+            }
+            int classCount = readVarInt(in);
+            classHashes = new long[Math.max(16, classCount)];
+            for (int i = 0; i < classCount; i++) {
+                add(readString(in), in.readLong());
+            }
+            int testCount = readVarInt(in);
+            for (int i = 0; i < testCount; i++) {
+                String name = readString(in);
+                boolean failed = in.readBoolean();
+                int[] classes = new int[readVarInt(in)];
+                int index = 0;
+                for (int j = 0; j < classes.length; j++) {
+                    index += readVarInt(in);
+                    if (index >= classCount) {
+                        throw new IOException("Corrupt impact index: " + file);
+                    }
+                    classes[j] = index;
+                }
+                tests.put(name, new TestEntry(classes, failed));
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Writes the index to a temporary file that then replaces the file of the
+     * index. Classes that no test depends on anymore are left out.
+     */
+    private synchronized void save() throws IOException {
+        int[] newIndices = new int[classNames.size()];
+        Arrays.fill(newIndices, -1);
+        for (TestEntry each : tests.values()) {
+            for (int index : each.classes) {
+                newIndices[index] = 0;
+            }
+        }
+        int classCount = 0;
+        for (int i = 0; i < newIndices.length; i++) {
+            if (newIndices[i] == 0) {
+                newIndices[i] = classCount++;
+            }
+        }
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        File temporary = new File(file.getPath() + ".tmp");
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(temporary)));
+        try {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            writeVarInt(out, classCount);
+            for (int i = 0; i < newIndices.length; i++) {
+                if (newIndices[i] >= 0) {
+                    writeString(out, classNames.get(i));
+                    out.writeLong(classHashes[i]);
+                }
+            }
+            writeVarInt(out, tests.size());
+            for (Map.Entry<String, TestEntry> each : tests.entrySet()) {
+                writeString(out, each.getKey());
+                out.writeBoolean(each.getValue().failed);
+                int[] classes = each.getValue().classes;
+                writeVarInt(out, classes.length);
+                int previous = 0;
+                for (int index : classes) {
+                    // Removing classes keeps the order of the others.
+                    writeVarInt(out, newIndices[index] - previous);
+                    previous = newIndices[index];
+                }
+            }
+        } finally {
+            out.close();
+        }
+        if (!temporary.renameTo(file)) {
+            file.delete();
+            if (!temporary.renameTo(file)) {
+                throw new IOException("Could not write impact index " + file);
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes("UTF-8");
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[readVarInt(in)];
+        in.readFully(bytes);
+        return new String(bytes, "UTF-8");
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte(value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    throw new IOException("Corrupt impact index");
+                }
+                return value;
+            }
+        }
+        throw new IOException("Corrupt impact index");
+    }
+}
@@ -0,0 +1,263 @@
+package org.junit.experimental.max;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.util.Map;
+
+/**
+ * Reads and writes the file of a {@link MaxHistory}.
+ *
+ * <p>The file is a log of records, each holding the duration or the failure
+ * timestamp of one test; a later record for the same test replaces an earlier
+ * one. Saving only appends the records that changed since the history was
+ * loaded, so saving is cheap even for large histories. The file is locked while
+ * it is read or written, and the records that other JVMs appended in the
+ * meantime are merged into the history before saving, so that several JVMs can
+ * share a file. When the log holds many outdated records it is rewritten, and
+ * its generation in the header is incremented so that other JVMs know they
+ * have to read it again.
+ *
+ * <p>Each record is a type byte, the value as a long, and the UTF-8 encoded
+ * name of the test preceded by its length as an int. A record that was cut
+ * short, for example because the JVM was killed while writing it, is
+ * discarded.
+ */
+final class HistoryStore {
+    private static final int MAGIC = 0x4A4D4831; // "JMH1"
+
+    private static final int HEADER_LENGTH = 8;
+
+    private static final int MIN_RECORD_LENGTH = 13;
+
+    private static final byte DURATION = 1;
+
+    private static final byte FAILURE_TIMESTAMP = 2;
+
+    private static final int MIN_RECORDS_TO_COMPACT = 1024;
+
+    private final File file;
+
+    /*
+     * The part of the file that is known to this history: its generation, the
+     * length of its valid records and their number.
+     */
+    private int generation = -1;
+
+    private long length;
+
+    private int records;
+
+    HistoryStore(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Returns {@code true} if {@code file} was written by a version of JUnit
+     * that serialized the whole {@link MaxHistory}.
+     */
+    static boolean isSerializedHistory(File file) throws IOException {
+        FileInputStream stream = new FileInputStream(file);
+        try {
+            // ObjectOutputStream.STREAM_MAGIC
+            return stream.read() == 0xAC && stream.read() == 0xED;
+        } finally {
+            stream.close();
+        }
+    }
+
+    /**
+     * Adds the records of the file to {@code durations} and
+     * {@code failureTimestamps}.
+     */
+    void read(Map<String, Long> durations, Map<String, Long> failureTimestamps)
+            throws IOException {
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = randomAccessFile.getChannel();
+            FileLock lock = channel.lock(0, Long.MAX_VALUE, true);
+            try {
+                if (channel.size() > 0) {
+                    generation = readGeneration(channel);
+                    length = HEADER_LENGTH;
+                    records = 0;
+                    readRecords(channel, durations, failureTimestamps, null, null);
+                }
+            } finally {
+                lock.release();
+            }
+        } finally {
+            randomAccessFile.close();
+        }
+    }
+
+    /**
+     * Writes the changed durations and failure timestamps to the file and
+     * adds the records that other JVMs wrote since the file was last read to
+     * {@code durations} and {@code failureTimestamps}, unless they are
+     * overridden by a change.
+     *
+     * @param rewrite write all entries instead of appending the changes
+     */
+    void save(Map<String, Long> durations, Map<String, Long> failureTimestamps,
+            Map<String, Long> changedDurations, Map<String, Long> changedFailureTimestamps,
+            boolean rewrite) throws IOException {
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+        try {
+            FileChannel channel = randomAccessFile.getChannel();
+            FileLock lock = channel.lock();
+            try {
+                if (rewrite || channel.size() == 0) {
+                    writeAll(channel, durations, failureTimestamps);
+                    return;
+                }
+                int fileGeneration = readGeneration(channel);
+                if (fileGeneration != generation || channel.size() < length) {
+                    // Rewritten by another JVM, read it again.
+                    generation = fileGeneration;
+                    length = HEADER_LENGTH;
+                    records = 0;
+                }
+                readRecords(channel, durations, failureTimestamps,
+                        changedDurations, changedFailureTimestamps);
+                int changes = changedDurations.size() + changedFailureTimestamps.size();
+                int entries = durations.size() + failureTimestamps.size();
+                if (records + changes >= MIN_RECORDS_TO_COMPACT
+                        && records + changes > 2 * entries) {
+                    writeAll(channel, durations, failureTimestamps);
+                } else {
+                    channel.truncate(length);
+                    length += write(channel, length, -1, changedDurations,
+                            changedFailureTimestamps);
+                    records += changes;
+                }
+            } finally {
+                channel.force(false);
+                lock.release();
+            }
+        } finally {
+            randomAccessFile.close();
+        }
+    }
+
+    private void writeAll(FileChannel channel, Map<String, Long> durations,
+            Map<String, Long> failureTimestamps) throws IOException {
+        int nextGeneration = generation + 1;
+        if (channel.size() >= HEADER_LENGTH) {
+            try {
+                nextGeneration = Math.max(nextGeneration, readGeneration(channel) + 1);
+            } catch (IOException e) {
+                // fallthrough, the file is replaced anyway
+            }
+        }
+        channel.truncate(0);
+        generation = nextGeneration;
+        length = write(channel, 0, generation, durations, failureTimestamps);
+        records = durations.size() + failureTimestamps.size();
+    }
+
+    private static int readGeneration(FileChannel channel) throws IOException {
+        ByteBuffer header = read(channel, 0, HEADER_LENGTH);
+        if (header.remaining() < HEADER_LENGTH || header.getInt() != MAGIC) {
+            throw new IOException("Not a history file");
+        }
+        return header.getInt();
+    }
+
+    /**
+     * Reads the records behind {@link #length}, except for the entries in
+     * {@code skipDurations} and {@code skipFailureTimestamps}, and moves
+     * {@link #length} behind the last complete record.
+     */
+    private void readRecords(FileChannel channel, Map<String, Long> durations,
+            Map<String, Long> failureTimestamps, Map<String, Long> skipDurations,
+            Map<String, Long> skipFailureTimestamps) throws IOException {
+        long size = channel.size() - length;
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("History file is too large: " + channel.size() + " bytes");
+        }
+        ByteBuffer buffer = read(channel, length, (int) size);
+        byte[] array = buffer.array();
+        int valid = 0;
+        while (buffer.remaining() >= MIN_RECORD_LENGTH) {
+            byte type = buffer.get();
+            long value = buffer.getLong();
+            int nameLength = buffer.getInt();
+            if (nameLength < 0 || nameLength > buffer.remaining()) {
+                break;
+            }
+            String name = new String(array, buffer.position(), nameLength, "UTF-8");
+            buffer.position(buffer.position() + nameLength);
+            if (type == DURATION) {
+                put(durations, skipDurations, name, value);
+            } else if (type == FAILURE_TIMESTAMP) {
+                put(failureTimestamps, skipFailureTimestamps, name, value);
+            } else {
+                throw new IOException("Unknown record type " + type);
+            }
+            records++;
+            valid = buffer.position();
+        }
+        length += valid;
+    }
+
+    private static void put(Map<String, Long> values, Map<String, Long> skip,
+            String name, long value) {
+        if (skip == null || !skip.containsKey(name)) {
+            values.put(name, value);
+        }
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int size)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Writes the records at {@code position}, preceded by a header if
+     * {@code generation} is not negative, and returns the number of bytes
+     * written.
+     */
+    private static int write(FileChannel channel, long position, int generation,
+            Map<String, Long> durations, Map<String, Long> failureTimestamps)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        if (generation >= 0) {
+            out.writeInt(MAGIC);
+            out.writeInt(generation);
+        }
+        writeRecords(out, DURATION, durations);
+        writeRecords(out, FAILURE_TIMESTAMP, failureTimestamps);
+        out.flush();
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+        return buffer.position();
+    }
+
+    private static void writeRecords(DataOutputStream out, byte type,
+            Map<String, Long> values) throws IOException {
+        for (Map.Entry<String, Long> each : values.entrySet()) {
+            byte[] name = each.getKey().getBytes("UTF-8");
+            out.writeByte(type);
+            out.writeLong(each.getValue());
+            out.writeInt(name.length);
+            out.write(name);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package org.junit.experimental.max;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.runner.Computer;
+import org.junit.runner.Runner;
+import org.junit.runners.ParentRunner;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.RunnerBuilder;
+import org.junit.runners.model.RunnerScheduler;
+
+/**
+ * A {@link Computer} that runs test classes in parallel on a fixed number of
+ * workers, starting with the classes that took longest in the previous run.
+ * Each worker that becomes free takes the longest class that has not been
+ * started yet (longest-processing-time-first), so a single long class no
+ * longer starts last and determines the duration of the whole run.
+ *
+ * <p>The duration of a class is the sum of the durations of its tests as
+ * recorded by a {@link MaxHistory}. Add {@link MaxHistory#listener()} to the
+ * run to keep the history up to date. Classes without history are assumed to
+ * take the median duration of the classes with history.
+ *
+ * <pre>
+ * MaxHistory history = MaxHistory.forFolder(new File("history.ser"));
+ * LongestFirstComputer computer = new LongestFirstComputer(history, 8);
+ * JUnitCore core = new JUnitCore();
+ * core.addListener(history.listener());
+ * core.run(computer, classes);
+ * System.out.println(computer.getPredictedMakespanNanos() + " predicted, "
+ *         + computer.getActualMakespanNanos() + " actual");
+ * </pre>
+ *
+ * @since 4.13
+ */
+public class LongestFirstComputer extends Computer {
+    private final MaxHistory history;
+
+    private final int workers;
+
+    private volatile long predictedMakespan = -1;
+
+    private volatile long actualMakespan = -1;
+
+    /**
+     * Creates a computer that runs classes on {@code workers} threads in the
+     * order given by {@code history}.
+     */
+    public LongestFirstComputer(MaxHistory history, int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException(
+                    "workers must be positive, but was " + workers);
+        }
+        this.history = history;
+        this.workers = workers;
+    }
+
+    @Override
+    public Runner getSuite(RunnerBuilder builder, Class<?>[] classes)
+            throws InitializationError {
+        final Map<Class<?>, Long> predicted = predictDurations(classes);
+        Class<?>[] longestFirst = classes.clone();
+        // Arrays.sort is stable, so classes with equal predictions keep their order.
+        Arrays.sort(longestFirst, new Comparator<Class<?>>() {
+            public int compare(Class<?> o1, Class<?> o2) {
+                return predicted.get(o2).compareTo(predicted.get(o1));
+            }
+        });
+        predictedMakespan = makespan(longestFirst, predicted, workers);
+        actualMakespan = -1;
+
+        Runner suite = super.getSuite(builder, longestFirst);
+        if (suite instanceof ParentRunner) {
+            ((ParentRunner<?>) suite).setScheduler(new WorkerScheduler());
+        }
+        return suite;
+    }
+
+    /**
+     * Returns the duration of the run predicted from the history, in
+     * nanoseconds, or {@code -1} if no suite has been created yet.
+     */
+    public long getPredictedMakespanNanos() {
+        return predictedMakespan;
+    }
+
+    /**
+     * Returns the measured duration of the last run, in nanoseconds, or
+     * {@code -1} if the suite has not been run yet.
+     */
+    public long getActualMakespanNanos() {
+        return actualMakespan;
+    }
+
+    private Map<Class<?>, Long> predictDurations(Class<?>[] classes) {
+        Map<String, Long> recorded = history.getClassDurations();
+        Map<Class<?>, Long> predicted = new HashMap<Class<?>, Long>();
+        List<Long> known = new ArrayList<Long>();
+        for (Class<?> each : classes) {
+            Long duration = each == null ? null : recorded.get(each.getName());
+            if (duration != null) {
+                known.add(duration);
+            }
+            predicted.put(each, duration);
+        }
+        Long defaultDuration = median(known);
+        for (Map.Entry<Class<?>, Long> each : predicted.entrySet()) {
+            if (each.getValue() == null) {
+                each.setValue(defaultDuration);
+            }
+        }
+        return predicted;
+    }
+
+    private static Long median(List<Long> durations) {
+        if (durations.isEmpty()) {
+            return 0L;
+        }
+        Collections.sort(durations);
+        return durations.get(durations.size() / 2);
+    }
+
+    /**
+     * Simulates greedy list scheduling: every class goes to the worker that
+     * becomes free first.
+     */
+    private static long makespan(Class<?>[] classes, Map<Class<?>, Long> durations,
+            int workers) {
+        long[] loads = new long[Math.min(workers, Math.max(classes.length, 1))];
+        for (Class<?> each : classes) {
+            int leastLoaded = 0;
+            for (int i = 1; i < loads.length; i++) {
+                if (loads[i] < loads[leastLoaded]) {
+                    leastLoaded = i;
+                }
+            }
+            loads[leastLoaded] += durations.get(each);
+        }
+        long makespan = 0;
+        for (long load : loads) {
+            makespan = Math.max(makespan, load);
+        }
+        return makespan;
+    }
+
+    /**
+     * Runs the classes on a fixed pool, in the order they are scheduled.
+     */
+    private class WorkerScheduler implements RunnerScheduler {
+        private ExecutorService executor;
+
+        private long start;
+
+        public void schedule(Runnable childStatement) {
+            if (executor == null) {
+                start = System.nanoTime();
+                executor = Executors.newFixedThreadPool(workers);
+            }
+            executor.execute(childStatement);
+        }
+
+        public void finished() {
+            if (executor == null) {
+                return;
+            }
+            try {
+                executor.shutdown();
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+                actualMakespan = System.nanoTime() - start;
+            } catch (InterruptedException e) {
+                e.printStackTrace(System.err);
+            } finally {
+                executor = null;
+            }
+        }
+    }
+}
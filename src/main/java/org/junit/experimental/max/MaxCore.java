@@ -102,6 +102,22 @@ public class MaxCore {
         return constructLeafRequest(leaves);
     }
 
+    /**
+     * Returns a Request that runs new tests first, then the tests that failed
+     * most recently, then the shortest tests. Unlike {@link #sortRequest(Request)},
+     * classes and suites are kept and ordered by their first test, so the tests
+     * of a class still run together. Pass the result to {@link #run(Request)}
+     * to keep the history up to date.
+     *
+     * @param request the request describing tests
+     * @return a Request with new and failing tests first
+     * @see MaxHistory#failuresFirstComparator()
+     * @since 4.13
+     */
+    public Request sortFailuresFirst(Request request) {
+        return request.sortWith(history.failuresFirstComparator());
+    }
+
     private Request constructLeafRequest(List<Description> leaves) {
         final List<Runner> runners = new ArrayList<Runner>();
         for (Description each : leaves) {
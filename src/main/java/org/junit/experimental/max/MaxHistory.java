@@ -2,14 +2,16 @@ package org.junit.experimental.max;
 
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.junit.runner.Description;
 import org.junit.runner.Result;
@@ -22,9 +24,17 @@ import org.junit.runner.notification.RunListener;
  * <li>Last failure timestamp
  * <li>Duration of last execution
  * </ul>
+ *
+ * <p>The history is kept in a file that only grows by the entries that changed
+ * when a run finishes. Several JVMs can share the file: it is locked while it
+ * is written, and the entries written by other JVMs are merged in. Files
+ * written by earlier versions of JUnit are still read and are converted on
+ * the next save.
  */
 public class MaxHistory implements Serializable {
     private static final long serialVersionUID = 1L;
+    private static final Pattern METHOD_AND_CLASS_NAME_PATTERN = Pattern
+            .compile("([\\s\\S]*)\\((.*)\\)");
 
     /**
      * Loads a {@link MaxHistory} from {@code file}, or generates a new one that
@@ -42,25 +52,55 @@ public class MaxHistory implements Serializable {
         return new MaxHistory(file);
     }
 
+    /**
+     * Reads the duration of the last execution of each test from the history
+     * in {@code file}, see {@link #getTestDurations()}. Unlike
+     * {@link #forFolder(File)}, it never changes or deletes the file.
+     *
+     * @throws CouldNotReadCoreException if the file does not exist or cannot
+     * be read
+     * @since 4.13
+     */
+    public static Map<String, Long> readTestDurations(File file)
+            throws CouldNotReadCoreException {
+        if (!file.isFile()) {
+            throw new CouldNotReadCoreException(new FileNotFoundException(file.toString()));
+        }
+        return readHistory(file).getTestDurations();
+    }
+
     private static MaxHistory readHistory(File storedResults)
             throws CouldNotReadCoreException {
         try {
-            FileInputStream file = new FileInputStream(storedResults);
-            try {
-                ObjectInputStream stream = new ObjectInputStream(file);
-                try {
-                    return (MaxHistory) stream.readObject();
-                } finally {
-                    stream.close();
-                }
-            } finally {
-                file.close();
+            if (HistoryStore.isSerializedHistory(storedResults)) {
+                MaxHistory history = readSerializedHistory(storedResults);
+                // Convert the file on the next save.
+                history.fRewrite = true;
+                return history;
             }
+            MaxHistory history = new MaxHistory(storedResults);
+            history.store().read(history.fDurations, history.fFailureTimestamps);
+            return history;
         } catch (Exception e) {
             throw new CouldNotReadCoreException(e);
         }
     }
 
+    private static MaxHistory readSerializedHistory(File storedResults)
+            throws Exception {
+        FileInputStream file = new FileInputStream(storedResults);
+        try {
+            ObjectInputStream stream = new ObjectInputStream(file);
+            try {
+                return (MaxHistory) stream.readObject();
+            } finally {
+                stream.close();
+            }
+        } finally {
+            file.close();
+        }
+    }
+
     /*
      * We have to use the f prefix until the next major release to ensure
      * serialization compatibility. 
@@ -70,15 +110,46 @@ public class MaxHistory implements Serializable {
     private final Map<String, Long> fFailureTimestamps = new HashMap<String, Long>();
     private final File fHistoryStore;
 
+    /*
+     * The entries that changed since the history was loaded or saved. Only
+     * these are written to the file on save, see HistoryStore.
+     */
+    private transient Map<String, Long> fChangedDurations;
+    private transient Map<String, Long> fChangedFailureTimestamps;
+    private transient boolean fRewrite;
+    private transient HistoryStore fStore;
+
     private MaxHistory(File storedResults) {
         fHistoryStore = storedResults;
     }
 
     private void save() throws IOException {
-        ObjectOutputStream stream = new ObjectOutputStream(new FileOutputStream(
-                fHistoryStore));
-        stream.writeObject(this);
-        stream.close();
+        store().save(fDurations, fFailureTimestamps, changedDurations(),
+                changedFailureTimestamps(), fRewrite);
+        changedDurations().clear();
+        changedFailureTimestamps().clear();
+        fRewrite = false;
+    }
+
+    private HistoryStore store() {
+        if (fStore == null) {
+            fStore = new HistoryStore(fHistoryStore);
+        }
+        return fStore;
+    }
+
+    private Map<String, Long> changedDurations() {
+        if (fChangedDurations == null) {
+            fChangedDurations = new HashMap<String, Long>();
+        }
+        return fChangedDurations;
+    }
+
+    private Map<String, Long> changedFailureTimestamps() {
+        if (fChangedFailureTimestamps == null) {
+            fChangedFailureTimestamps = new HashMap<String, Long>();
+        }
+        return fChangedFailureTimestamps;
     }
 
     Long getFailureTimestamp(Description key) {
@@ -87,6 +158,7 @@ public class MaxHistory implements Serializable {
 
     void putTestFailureTimestamp(Description key, long end) {
         fFailureTimestamps.put(key.toString(), end);
+        changedFailureTimestamps().put(key.toString(), end);
     }
 
     boolean isNewTest(Description key) {
@@ -99,6 +171,32 @@ public class MaxHistory implements Serializable {
 
     void putTestDuration(Description description, long duration) {
         fDurations.put(description.toString(), duration);
+        changedDurations().put(description.toString(), duration);
+    }
+
+    /**
+     * Returns the duration of the last execution of each test, in
+     * nanoseconds, by the display name of its {@link Description}.
+     *
+     * @since 4.13
+     */
+    public Map<String, Long> getTestDurations() {
+        return Collections.unmodifiableMap(new HashMap<String, Long>(fDurations));
+    }
+
+    /**
+     * Returns the summed duration of the last execution of each test, by
+     * test class name.
+     */
+    Map<String, Long> getClassDurations() {
+        Map<String, Long> classDurations = new HashMap<String, Long>();
+        for (Map.Entry<String, Long> each : fDurations.entrySet()) {
+            Matcher matcher = METHOD_AND_CLASS_NAME_PATTERN.matcher(each.getKey());
+            String className = matcher.matches() ? matcher.group(2) : each.getKey();
+            Long sum = classDurations.get(className);
+            classDurations.put(className, (sum == null ? 0 : sum) + each.getValue());
+        }
+        return classDurations;
     }
 
     private final class RememberingListener extends RunListener {
@@ -155,6 +253,54 @@ public class MaxHistory implements Serializable {
         }
     }
 
+    /**
+     * Ranks new tests first, then tests by their most recent failure, then
+     * shorter tests first, like {@link TestComparator}. A suite ranks like
+     * its highest-ranked test.
+     */
+    private final class FailuresFirstComparator implements Comparator<Description> {
+        private final Map<Description, long[]> ranks = new HashMap<Description, long[]>();
+
+        public int compare(Description o1, Description o2) {
+            return compareRanks(rank(o1), rank(o2));
+        }
+
+        /**
+         * Returns whether the test is not new, the negated timestamp of its
+         * last failure and its duration.
+         */
+        private long[] rank(Description description) {
+            long[] rank = ranks.get(description);
+            if (rank != null) {
+                return rank;
+            }
+            if (description.isTest()) {
+                Long duration = getTestDuration(description);
+                Long failure = getFailureTimestamp(description);
+                rank = new long[] {duration == null ? 0 : 1,
+                        failure == null ? 0 : -failure, duration == null ? 0 : duration};
+            } else {
+                for (Description each : description.getChildren()) {
+                    long[] childRank = rank(each);
+                    if (rank == null || compareRanks(childRank, rank) < 0) {
+                        rank = childRank;
+                    }
+                }
+            }
+            ranks.put(description, rank);
+            return rank;
+        }
+
+        private int compareRanks(long[] rank1, long[] rank2) {
+            for (int i = 0; i < rank1.length; i++) {
+                if (rank1[i] != rank2[i]) {
+                    return rank1[i] < rank2[i] ? -1 : 1;
+                }
+            }
+            return 0;
+        }
+    }
+
     /**
      * @return a listener that will update this history based on the test
      *         results reported.
@@ -170,4 +316,16 @@ public class MaxHistory implements Serializable {
     public Comparator<Description> testComparator() {
         return new TestComparator();
     }
+
+    /**
+     * @return a comparator that ranks tests like {@link #testComparator()},
+     *         and suites like their highest-ranked test. Sorting a
+     *         {@link org.junit.runner.Request} with it runs new and recently
+     *         failed tests early, while the tests of a class stay together
+     *         and its class-level setup runs once.
+     * @since 4.13
+     */
+    public Comparator<Description> failuresFirstComparator() {
+        return new FailuresFirstComparator();
+    }
 }
@@ -34,6 +34,13 @@ import java.lang.annotation.Target;
  * methods must always be called though, as this information is not available
  * here after generic type erasure, so expensive methods returning iterable
  * datapoints are a bad idea.
+ * <p>
+ * A DataPoints method is called again for each parameter that it may supply.
+ * Set {@link #cached()} to {@code true} for methods that are expensive and
+ * always return the same values: while the
+ * {@link org.junit.experimental.theories.Theories Theories} runner runs a
+ * class, such a method is called at most once, and the array or iterable that
+ * it returned is used for all parameters of all theories of the class.
  * 
  * <pre>
  * &#064;DataPoints
@@ -61,4 +68,15 @@ public @interface DataPoints {
     String[] value() default {};
 
     Class<? extends Throwable>[] ignoredExceptions() default {};
+
+    /**
+     * Whether the value returned by a DataPoints method is reused while the
+     * class runs. Only set it for methods whose values are not changed by the
+     * theories and do not depend on state that changes while the class runs,
+     * and which do not return an iterable that can be iterated only once.
+     * Ignored for fields.
+     *
+     * @since 4.13
+     */
+    boolean cached() default false;
 }
@@ -5,13 +5,22 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Assert;
 import org.junit.Assume;
 import org.junit.experimental.theories.internal.Assignments;
+import org.junit.experimental.theories.internal.DataPointsCache;
 import org.junit.experimental.theories.internal.ParameterizedAssertionError;
 import org.junit.internal.AssumptionViolatedException;
+import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.BlockJUnit4ClassRunner;
 import org.junit.runners.model.FrameworkMethod;
 import org.junit.runners.model.InitializationError;
@@ -125,9 +134,15 @@ public class Theories extends BlockJUnit4ClassRunner {
     @Override
     protected void validateTestMethods(List<Throwable> errors) {
         for (FrameworkMethod each : computeTestMethods()) {
-            if (each.getAnnotation(Theory.class) != null) {
+            Theory theory = each.getAnnotation(Theory.class);
+            if (theory != null) {
                 each.validatePublicVoid(false, errors);
                 each.validateNoTypeParametersOnArgs(errors);
+                if (theory.parallelism() < 1) {
+                    errors.add(new Error("Theory " + each.getName()
+                            + " must have a positive parallelism, but has "
+                            + theory.parallelism()));
+                }
             } else {
                 each.validatePublicVoidNoArg(false, errors);
             }
@@ -165,19 +180,55 @@ public class Theories extends BlockJUnit4ClassRunner {
         return testMethods;
     }
 
+    /**
+     * Returns a {@link Statement} that caches the values of the
+     * {@code @DataPoints} methods while the class runs.
+     *
+     * @see DataPoints#cached()
+     * @since 4.13
+     */
+    @Override
+    protected Statement classBlock(RunNotifier notifier) {
+        final Statement statement = super.classBlock(notifier);
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                DataPointsCache.open(getTestClass());
+                try {
+                    statement.evaluate();
+                } finally {
+                    DataPointsCache.close(getTestClass());
+                }
+            }
+        };
+    }
+
     @Override
     public Statement methodBlock(final FrameworkMethod method) {
         return new TheoryAnchor(method, getTestClass());
     }
 
     public static class TheoryAnchor extends Statement {
-        private int successes = 0;
+        /**
+         * The number of subtrees of assignments per thread when a theory is
+         * explored in parallel, so that threads that finish early find more
+         * work.
+         */
+        private static final int SUBTREES_PER_THREAD = 4;
+
+        private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+
+        private final AtomicInteger successes = new AtomicInteger();
 
         private final FrameworkMethod testMethod;
         private final TestClass testClass;
 
         private List<AssumptionViolatedException> fInvalidParameters = new ArrayList<AssumptionViolatedException>();
 
+        private final ThreadLocal<Subtree> currentSubtree = new ThreadLocal<Subtree>();
+
+        private final AtomicInteger firstFailingSubtree = new AtomicInteger(Integer.MAX_VALUE);
+
         public TheoryAnchor(FrameworkMethod testMethod, TestClass testClass) {
             this.testMethod = testMethod;
             this.testClass = testClass;
@@ -189,12 +240,18 @@ public class Theories extends BlockJUnit4ClassRunner {
 
         @Override
         public void evaluate() throws Throwable {
-            runWithAssignment(Assignments.allUnassigned(
-                    testMethod.getMethod(), getTestClass()));
+            Assignments allUnassigned = Assignments.allUnassigned(
+                    testMethod.getMethod(), getTestClass());
+            int parallelism = parallelism();
+            if (parallelism > 1) {
+                runInParallel(allUnassigned, parallelism);
+            } else {
+                runWithAssignment(allUnassigned);
+            }
             
             //if this test method is not annotated with Theory, then no successes is a valid case
             boolean hasTheoryAnnotation = testMethod.getAnnotation(Theory.class) != null;
-            if (successes == 0 && hasTheoryAnnotation) {
+            if (successes.get() == 0 && hasTheoryAnnotation) {
                 Assert
                         .fail("Never found parameters that satisfied method assumptions.  Violated assumptions: "
                                 + fInvalidParameters);
@@ -214,10 +271,89 @@ public class Theories extends BlockJUnit4ClassRunner {
                 throws Throwable {
             for (PotentialAssignment source : incomplete
                     .potentialsForNextUnassigned()) {
+                if (isAbandoned()) {
+                    return;
+                }
                 runWithAssignment(incomplete.assignNext(source));
             }
         }
 
+        /**
+         * Runs the subtrees of assignments on a pool of {@code parallelism}
+         * threads and throws the failure of the first failing subtree, so
+         * that the same assignment fails as on a single thread. Subtrees
+         * after a failing subtree are abandoned; subtrees before it are
+         * explored completely, since they might fail, too.
+         */
+        private void runInParallel(Assignments allUnassigned, int parallelism)
+                throws Throwable {
+            List<Assignments> roots = split(allUnassigned, SUBTREES_PER_THREAD * parallelism);
+            List<Subtree> subtrees = new ArrayList<Subtree>(roots.size());
+            for (Assignments each : roots) {
+                subtrees.add(new Subtree(subtrees.size(), each));
+            }
+            ExecutorService executor = Executors.newFixedThreadPool(
+                    Math.min(parallelism, subtrees.size()), new ExplorerThreadFactory());
+            try {
+                List<Future<?>> futures = new ArrayList<Future<?>>(subtrees.size());
+                for (Subtree each : subtrees) {
+                    futures.add(executor.submit(each));
+                }
+                for (Future<?> each : futures) {
+                    each.get();
+                }
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            } finally {
+                executor.shutdownNow();
+            }
+            for (Subtree each : subtrees) {
+                if (each.failure != null) {
+                    throw each.failure;
+                }
+                fInvalidParameters.addAll(each.invalidParameters);
+            }
+        }
+
+        /**
+         * Assigns parameters breadth first until there are at least
+         * {@code minimumCount} assignments or all of them are complete.
+         * Returns the assignments in the order of a depth-first search.
+         */
+        private List<Assignments> split(Assignments allUnassigned, int minimumCount)
+                throws Throwable {
+            List<Assignments> assignments = Collections.singletonList(allUnassigned);
+            while (assignments.size() < minimumCount) {
+                List<Assignments> next = new ArrayList<Assignments>();
+                boolean assignedAny = false;
+                for (Assignments each : assignments) {
+                    if (each.isComplete()) {
+                        next.add(each);
+                    } else {
+                        assignedAny = true;
+                        for (PotentialAssignment source : each.potentialsForNextUnassigned()) {
+                            next.add(each.assignNext(source));
+                        }
+                    }
+                }
+                if (!assignedAny) {
+                    break;
+                }
+                assignments = next;
+            }
+            return assignments;
+        }
+
+        private boolean isAbandoned() {
+            Subtree subtree = currentSubtree.get();
+            return subtree != null && subtree.index > firstFailingSubtree.get();
+        }
+
+        private int parallelism() {
+            Theory annotation = testMethod.getMethod().getAnnotation(Theory.class);
+            return annotation == null ? 1 : annotation.parallelism();
+        }
+
         protected void runWithCompleteAssignment(final Assignments complete)
                 throws Throwable {
             new BlockJUnit4ClassRunner(getTestClass()) {
@@ -282,7 +418,12 @@ public class Theories extends BlockJUnit4ClassRunner {
         }
 
         protected void handleAssumptionViolation(AssumptionViolatedException e) {
-            fInvalidParameters.add(e);
+            Subtree subtree = currentSubtree.get();
+            if (subtree == null) {
+                fInvalidParameters.add(e);
+            } else {
+                subtree.invalidParameters.add(e);
+            }
         }
 
         protected void reportParameterizedError(Throwable e, Object... params)
@@ -304,7 +445,55 @@ public class Theories extends BlockJUnit4ClassRunner {
         }
 
         protected void handleDataPointSuccess() {
-            successes++;
+            successes.incrementAndGet();
+        }
+
+        /**
+         * The assignments that extend one partial assignment, explored on a
+         * thread of the pool.
+         */
+        private class Subtree implements Runnable {
+            final int index;
+            final Assignments root;
+            final List<AssumptionViolatedException> invalidParameters =
+                    new ArrayList<AssumptionViolatedException>();
+            Throwable failure;
+
+            Subtree(int index, Assignments root) {
+                this.index = index;
+                this.root = root;
+            }
+
+            public void run() {
+                if (index > firstFailingSubtree.get()) {
+                    return;
+                }
+                currentSubtree.set(this);
+                try {
+                    runWithAssignment(root);
+                } catch (Throwable e) {
+                    failure = e;
+                    int first;
+                    do {
+                        first = firstFailingSubtree.get();
+                    } while (index < first && !firstFailingSubtree.compareAndSet(first, index));
+                } finally {
+                    currentSubtree.remove();
+                }
+            }
+        }
+
+        private static class ExplorerThreadFactory implements ThreadFactory {
+            private final int poolNumber = POOL_NUMBER.incrementAndGet();
+
+            private final AtomicInteger threadNumber = new AtomicInteger();
+
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "Theories-" + poolNumber
+                        + "-explorer-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
         }
     }
 }
@@ -15,4 +15,16 @@ import java.lang.annotation.Target;
 @Target(METHOD)
 public @interface Theory {
     boolean nullsAccepted() default true;
+
+    /**
+     * The number of threads that run the theory with different assignments of
+     * its parameters at the same time. The assignments are split into subtrees
+     * that are explored on a pool of this many threads. Exploration stops at
+     * the first failure, which is the failure of the first failing assignment
+     * in the order in which a single thread would have tried them. Default
+     * value is 1, which runs all assignments on the thread of the test.
+     *
+     * @since 4.13
+     */
+    int parallelism() default 1;
 }
\ No newline at end of file
@@ -81,7 +81,7 @@ public class AllMembersSupplier extends ParameterSupplier {
                     Iterable.class.isAssignableFrom(returnType)) {
                 try {
                     addDataPointsValues(returnType, sig, dataPointsMethod.getName(), list, 
-                            dataPointsMethod.invokeExplosively(null));
+                            invokeDataPointsMethod(dataPointsMethod));
                 } catch (Throwable throwable) {
                     DataPoints annotation = dataPointsMethod.getAnnotation(DataPoints.class);
                     if (annotation != null && isAssignableToAnyOf(annotation.ignoredExceptions(), throwable)) {
@@ -94,6 +94,15 @@ public class AllMembersSupplier extends ParameterSupplier {
         }
     }
 
+    private Object invokeDataPointsMethod(FrameworkMethod dataPointsMethod) throws Throwable {
+        DataPointsCache cache = DataPointsCache.forClass(clazz);
+        DataPoints annotation = dataPointsMethod.getAnnotation(DataPoints.class);
+        if (cache == null || annotation == null || !annotation.cached()) {
+            return DataPointsCache.invoke(dataPointsMethod);
+        }
+        return cache.get(dataPointsMethod);
+    }
+
     private void addSinglePointMethods(ParameterSignature sig, List<PotentialAssignment> list) {
         for (FrameworkMethod dataPointMethod : getSingleDataPointMethods(sig)) {
             if (sig.canAcceptType(dataPointMethod.getType())) {
@@ -4,7 +4,6 @@ import static java.util.Collections.emptyList;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.experimental.theories.ParameterSignature;
@@ -17,18 +16,34 @@ import org.junit.runners.model.TestClass;
 /**
  * A potentially incomplete list of value assignments for a method's formal
  * parameters
+ * <p>
+ * Assignments share their structure: each one refers to the assignments it
+ * was extended from, so {@link #assignNext(PotentialAssignment)} takes
+ * constant time and space no matter how many parameters are assigned.
  */
 public class Assignments {
-    private final List<PotentialAssignment> assigned;
+    private final Assignments previous;
 
-    private final List<ParameterSignature> unassigned;
+    private final PotentialAssignment last;
+
+    private final int assignedCount;
+
+    private final List<ParameterSignature> signatures;
+
+    private final int constructorParameterCount;
 
     private final TestClass clazz;
 
-    private Assignments(List<PotentialAssignment> assigned,
-            List<ParameterSignature> unassigned, TestClass clazz) {
-        this.unassigned = unassigned;
-        this.assigned = assigned;
+    private volatile PotentialAssignment[] assigned;
+
+    private Assignments(Assignments previous, PotentialAssignment last,
+            int assignedCount, List<ParameterSignature> signatures,
+            int constructorParameterCount, TestClass clazz) {
+        this.previous = previous;
+        this.last = last;
+        this.assignedCount = assignedCount;
+        this.signatures = signatures;
+        this.constructorParameterCount = constructorParameterCount;
         this.clazz = clazz;
     }
 
@@ -41,36 +56,50 @@ public class Assignments {
         List<ParameterSignature> signatures;
         signatures = ParameterSignature.signatures(testClass
                 .getOnlyConstructor());
+        int constructorParameterCount = signatures.size();
         signatures.addAll(ParameterSignature.signatures(testMethod));
-        return new Assignments(new ArrayList<PotentialAssignment>(),
-                signatures, testClass);
+        return new Assignments(null, null, 0, signatures,
+                constructorParameterCount, testClass);
     }
 
     public boolean isComplete() {
-        return unassigned.isEmpty();
+        return assignedCount == signatures.size();
     }
 
     public ParameterSignature nextUnassigned() {
-        return unassigned.get(0);
+        return signatures.get(assignedCount);
     }
 
     public Assignments assignNext(PotentialAssignment source) {
-        List<PotentialAssignment> potentialAssignments = new ArrayList<PotentialAssignment>(assigned);
-        potentialAssignments.add(source);
-
-        return new Assignments(potentialAssignments, unassigned.subList(1,
-                unassigned.size()), clazz);
+        return new Assignments(this, source, assignedCount + 1, signatures,
+                constructorParameterCount, clazz);
     }
 
     public Object[] getActualValues(int start, int stop) 
             throws CouldNotGenerateValueException {
+        PotentialAssignment[] assigned = assigned();
         Object[] values = new Object[stop - start];
         for (int i = start; i < stop; i++) {
-            values[i - start] = assigned.get(i).getValue();
+            values[i - start] = assigned[i].getValue();
         }
         return values;
     }
 
+    /**
+     * Returns the assigned values in the order of the parameters. The array is
+     * built on first use.
+     */
+    private PotentialAssignment[] assigned() {
+        if (assigned == null) {
+            PotentialAssignment[] result = new PotentialAssignment[assignedCount];
+            for (Assignments each = this; each.assignedCount > 0; each = each.previous) {
+                result[each.assignedCount - 1] = each.last;
+            }
+            assigned = result;
+        }
+        return assigned;
+    }
+
     public List<PotentialAssignment> potentialsForNextUnassigned()
             throws Throwable {
         ParameterSignature unassigned = nextUnassigned();
@@ -128,25 +157,23 @@ public class Assignments {
     }
 
     public Object[] getMethodArguments() throws CouldNotGenerateValueException {
-        return getActualValues(getConstructorParameterCount(), assigned.size());
+        return getActualValues(getConstructorParameterCount(), assignedCount);
     }
 
     public Object[] getAllArguments() throws CouldNotGenerateValueException {
-        return getActualValues(0, assigned.size());
+        return getActualValues(0, assignedCount);
     }
 
     private int getConstructorParameterCount() {
-        List<ParameterSignature> signatures = ParameterSignature
-                .signatures(clazz.getOnlyConstructor());
-        int constructorParameterCount = signatures.size();
         return constructorParameterCount;
     }
 
     public Object[] getArgumentStrings(boolean nullsOk)
             throws CouldNotGenerateValueException {
-        Object[] values = new Object[assigned.size()];
+        PotentialAssignment[] assigned = assigned();
+        Object[] values = new Object[assigned.length];
         for (int i = 0; i < values.length; i++) {
-            values[i] = assigned.get(i).getDescription();
+            values[i] = assigned[i].getDescription();
         }
         return values;
     }
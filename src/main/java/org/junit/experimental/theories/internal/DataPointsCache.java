@@ -0,0 +1,131 @@
+package org.junit.experimental.theories.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.TestClass;
+
+/**
+ * The values returned by the {@code @DataPoints} methods of a class while the
+ * class runs, so that each method is called once per run instead of once per
+ * parameter of each theory. The {@code Theories} runner opens the cache of a
+ * class before the class runs and closes it afterwards.
+ * <p>
+ * The numbers of calls to {@code @DataPoints} methods and of calls saved by
+ * the caches are counted for the whole JVM.
+ *
+ * @since 4.13
+ */
+public final class DataPointsCache {
+    private static final Map<TestClass, DataPointsCache> OPEN =
+            new HashMap<TestClass, DataPointsCache>(); // guarded by OPEN
+
+    private static final AtomicLong INVOCATIONS = new AtomicLong();
+
+    private static final AtomicLong SAVED_INVOCATIONS = new AtomicLong();
+
+    private final ConcurrentMap<FrameworkMethod, Value> values =
+            new ConcurrentHashMap<FrameworkMethod, Value>();
+
+    private int runs; // guarded by OPEN
+
+    private DataPointsCache() {
+    }
+
+    /**
+     * Starts caching the values of the {@code @DataPoints} methods of
+     * {@code testClass}. Calls may be nested if the class runs several times
+     * at once; the values are cached until the last run has closed the cache.
+     */
+    public static void open(TestClass testClass) {
+        synchronized (OPEN) {
+            DataPointsCache cache = OPEN.get(testClass);
+            if (cache == null) {
+                cache = new DataPointsCache();
+                OPEN.put(testClass, cache);
+            }
+            cache.runs++;
+        }
+    }
+
+    /**
+     * Stops caching for one run of {@code testClass}.
+     */
+    public static void close(TestClass testClass) {
+        synchronized (OPEN) {
+            DataPointsCache cache = OPEN.get(testClass);
+            if (cache != null && --cache.runs == 0) {
+                OPEN.remove(testClass);
+            }
+        }
+    }
+
+    /**
+     * Returns the open cache of {@code testClass}, or {@code null} if the class
+     * is not running.
+     */
+    static DataPointsCache forClass(TestClass testClass) {
+        synchronized (OPEN) {
+            return OPEN.get(testClass);
+        }
+    }
+
+    /**
+     * Returns the number of calls to {@code @DataPoints} methods.
+     */
+    public static long getInvocationCount() {
+        return INVOCATIONS.get();
+    }
+
+    /**
+     * Returns the number of calls to {@code @DataPoints} methods that were
+     * saved by reusing a cached value.
+     */
+    public static long getSavedInvocationCount() {
+        return SAVED_INVOCATIONS.get();
+    }
+
+    /**
+     * Calls the static {@code @DataPoints} method without caching its value.
+     */
+    static Object invoke(FrameworkMethod method) throws Throwable {
+        INVOCATIONS.incrementAndGet();
+        return method.invokeExplosively(null);
+    }
+
+    /**
+     * Returns the cached value of the static {@code @DataPoints} method, and
+     * calls the method if no value is cached yet. Exceptions are not cached.
+     */
+    Object get(FrameworkMethod method) throws Throwable {
+        Value value = values.get(method);
+        if (value == null) {
+            Value newValue = new Value();
+            value = values.putIfAbsent(method, newValue);
+            if (value == null) {
+                value = newValue;
+            }
+        }
+        return value.get(method);
+    }
+
+    private static final class Value {
+        private boolean computed; // guarded by this
+
+        private Object value; // guarded by this
+
+        synchronized Object get(FrameworkMethod method) throws Throwable {
+            if (computed) {
+                SAVED_INVOCATIONS.incrementAndGet();
+            } else {
+                value = invoke(method);
+                computed = true;
+            }
+            return value;
+        }
+    }
+}
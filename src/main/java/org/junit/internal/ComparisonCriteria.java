@@ -30,11 +30,23 @@ public abstract class ComparisonCriteria {
 
     private void arrayEquals(String message, Object expecteds, Object actuals, boolean outer)
             throws ArrayComparisonFailure {
-        if (expecteds == actuals
-            || Arrays.deepEquals(new Object[] {expecteds}, new Object[] {actuals})) {
-            // The reflection-based loop below is potentially very slow, especially for primitive
-            // arrays. The deepEquals check allows us to circumvent it in the usual case where
-            // the arrays are exactly equal.
+        if (expecteds == actuals) {
+            return;
+        }
+        // The reflection-based loop below is potentially very slow, especially for primitive
+        // arrays. Primitive arrays are compared without boxing, and arrays of objects or
+        // nested arrays without reflection, up to their first difference. deepEquals
+        // circumvents the loop in the usual case where arrays of different types are
+        // exactly equal.
+        int firstDifference = expecteds == null || actuals == null
+                ? -1 : firstDifference(expecteds, actuals);
+        if (firstDifference < 0) {
+            if (Arrays.deepEquals(new Object[] {expecteds}, new Object[] {actuals})) {
+                return;
+            }
+            firstDifference = 0;
+        } else if (firstDifference == Array.getLength(expecteds)
+                && firstDifference == Array.getLength(actuals)) {
             return;
         }
         String header = message == null ? "" : message + ": ";
@@ -57,7 +69,7 @@ public abstract class ComparisonCriteria {
         }
         int prefixLength = Math.min(actualsLength, expectedsLength);
 
-        for (int i = 0; i < prefixLength; i++) {
+        for (int i = firstDifference; i < prefixLength; i++) {
             Object expected = Array.get(expecteds, i);
             Object actual = Array.get(actuals, i);
 
@@ -91,6 +103,180 @@ public abstract class ComparisonCriteria {
         }
     }
 
+    /**
+     * Returns the index of the first element in which two arrays of the same
+     * primitive type, or two arrays of objects or arrays, differ, or the length
+     * of the shorter array if they do not differ in their common elements. The
+     * elements before the returned index are considered equal without calling
+     * {@link #assertElementsEqual(Object, Object)}, so only exactly equal
+     * elements may be skipped. Returns {@code -1} for other arrays.
+     */
+    int firstDifference(Object expecteds, Object actuals) {
+        if (expecteds instanceof Object[] && actuals instanceof Object[]) {
+            return firstDifference((Object[]) expecteds, (Object[]) actuals);
+        }
+        Class<?> type = expecteds.getClass();
+        if (type != actuals.getClass() || !type.isArray()
+                || !type.getComponentType().isPrimitive()) {
+            return -1;
+        }
+        if (expecteds instanceof byte[]) {
+            return firstDifference((byte[]) expecteds, (byte[]) actuals);
+        } else if (expecteds instanceof int[]) {
+            return firstDifference((int[]) expecteds, (int[]) actuals);
+        } else if (expecteds instanceof long[]) {
+            return firstDifference((long[]) expecteds, (long[]) actuals);
+        } else if (expecteds instanceof double[]) {
+            return firstDifference((double[]) expecteds, (double[]) actuals);
+        } else if (expecteds instanceof float[]) {
+            return firstDifference((float[]) expecteds, (float[]) actuals);
+        } else if (expecteds instanceof char[]) {
+            return firstDifference((char[]) expecteds, (char[]) actuals);
+        } else if (expecteds instanceof short[]) {
+            return firstDifference((short[]) expecteds, (short[]) actuals);
+        } else {
+            return firstDifference((boolean[]) expecteds, (boolean[]) actuals);
+        }
+    }
+
+    /*
+     * Nested arrays are compared by the loop for their type, once per row, and
+     * a row that is the same instance in both arrays is not looked at.
+     */
+    private int firstDifference(Object[] expecteds, Object[] actuals) {
+        int length = Math.min(expecteds.length, actuals.length);
+        for (int i = 0; i < length; i++) {
+            Object expected = expecteds[i];
+            Object actual = actuals[i];
+            if (expected == actual) {
+                continue;
+            }
+            if (expected == null || actual == null) {
+                return i;
+            }
+            if (isArray(expected) && isArray(actual)) {
+                int difference = firstDifference(expected, actual);
+                if (difference < 0 || difference != Array.getLength(expected)
+                        || difference != Array.getLength(actual)) {
+                    return i;
+                }
+            } else if (!expected.equals(actual)) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    /*
+     * Arrays.equals() compares equal arrays in bulk. Only if they differ, a
+     * loop finds the first difference.
+     */
+
+    private static int firstDifference(byte[] expecteds, byte[] actuals) {
+        int length = Math.min(expecteds.length, actuals.length);
+        if (expecteds.length == actuals.length && Arrays.equals(expecteds, actuals)) {
+            return length;
+        }
+        for (int i = 0; i < length; i++) {
+            if (expecteds[i] != actuals[i]) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    private static int firstDifference(int[] expecteds, int[] actuals) {
+        int length = Math.min(expecteds.length, actuals.length);
+        if (expecteds.length == actuals.length && Arrays.equals(expecteds, actuals)) {
+            return length;
+        }
+        for (int i = 0; i < length; i++) {
+            if (expecteds[i] != actuals[i]) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    private static int firstDifference(long[] expecteds, long[] actuals) {
+        int length = Math.min(expecteds.length, actuals.length);
+        if (expecteds.length == actuals.length && Arrays.equals(expecteds, actuals)) {
+            return length;
+        }
+        for (int i = 0; i < length; i++) {
+            if (expecteds[i] != actuals[i]) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    private static int firstDifference(double[] expecteds, double[] actuals) {
+        int length = Math.min(expecteds.length, actuals.length);
+        if (expecteds.length == actuals.length && Arrays.equals(expecteds, actuals)) {
+            return length;
+        }
+        // Like Double.equals(), and unlike ==, NaNs are equal and 0.0 is not -0.0.
+        for (int i = 0; i < length; i++) {
+            if (Double.doubleToLongBits(expecteds[i]) != Double.doubleToLongBits(actuals[i])) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    private static int firstDifference(float[] expecteds, float[] actuals) {
+        int length = Math.min(expecteds.length, actuals.length);
+        if (expecteds.length == actuals.length && Arrays.equals(expecteds, actuals)) {
+            return length;
+        }
+        for (int i = 0; i < length; i++) {
+            if (Float.floatToIntBits(expecteds[i]) != Float.floatToIntBits(actuals[i])) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    private static int firstDifference(char[] expecteds, char[] actuals) {
+        int length = Math.min(expecteds.length, actuals.length);
+        if (expecteds.length == actuals.length && Arrays.equals(expecteds, actuals)) {
+            return length;
+        }
+        for (int i = 0; i < length; i++) {
+            if (expecteds[i] != actuals[i]) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    private static int firstDifference(short[] expecteds, short[] actuals) {
+        int length = Math.min(expecteds.length, actuals.length);
+        if (expecteds.length == actuals.length && Arrays.equals(expecteds, actuals)) {
+            return length;
+        }
+        for (int i = 0; i < length; i++) {
+            if (expecteds[i] != actuals[i]) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    private static int firstDifference(boolean[] expecteds, boolean[] actuals) {
+        int length = Math.min(expecteds.length, actuals.length);
+        if (expecteds.length == actuals.length && Arrays.equals(expecteds, actuals)) {
+            return length;
+        }
+        for (int i = 0; i < length; i++) {
+            if (expecteds[i] != actuals[i]) {
+                return i;
+            }
+        }
+        return length;
+    }
+
     private static final Object END_OF_ARRAY_SENTINEL = objectWithToString("end of array");
 
     private Object getToStringableArrayElement(Object array, int length, int index) {
@@ -1,5 +1,7 @@
 package org.junit.internal;
 
+import java.util.Arrays;
+
 import org.junit.Assert;
 
 public class InexactComparisonCriteria extends ComparisonCriteria {
@@ -13,6 +15,55 @@ public class InexactComparisonCriteria extends ComparisonCriteria {
         fDelta = delta;
     }
 
+    /**
+     * Compares {@code double[]} and {@code float[]} arrays within the delta
+     * without boxing their elements.
+     */
+    @Override
+    int firstDifference(Object expecteds, Object actuals) {
+        if (expecteds instanceof double[] && actuals instanceof double[]
+                && fDelta instanceof Double) {
+            double[] doubleExpecteds = (double[]) expecteds;
+            double[] doubleActuals = (double[]) actuals;
+            double delta = (Double) fDelta;
+            int length = Math.min(doubleExpecteds.length, doubleActuals.length);
+            if (doubleExpecteds.length == doubleActuals.length
+                    && Arrays.equals(doubleExpecteds, doubleActuals)) {
+                return length;
+            }
+            for (int i = 0; i < length; i++) {
+                double expected = doubleExpecteds[i];
+                double actual = doubleActuals[i];
+                if (Double.compare(expected, actual) != 0
+                        && !(Math.abs(expected - actual) <= delta)) {
+                    return i;
+                }
+            }
+            return length;
+        }
+        if (expecteds instanceof float[] && actuals instanceof float[]
+                && fDelta instanceof Float) {
+            float[] floatExpecteds = (float[]) expecteds;
+            float[] floatActuals = (float[]) actuals;
+            float delta = (Float) fDelta;
+            int length = Math.min(floatExpecteds.length, floatActuals.length);
+            if (floatExpecteds.length == floatActuals.length
+                    && Arrays.equals(floatExpecteds, floatActuals)) {
+                return length;
+            }
+            for (int i = 0; i < length; i++) {
+                float expected = floatExpecteds[i];
+                float actual = floatActuals[i];
+                if (Float.compare(expected, actual) != 0
+                        && !(Math.abs(expected - actual) <= delta)) {
+                    return i;
+                }
+            }
+            return length;
+        }
+        return super.firstDifference(expecteds, actuals);
+    }
+
     @Override
     protected void assertElementsEqual(Object expected, Object actual) {
         if (expected instanceof Double) {
@@ -0,0 +1,157 @@
+package org.junit.internal.requests;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.runner.Description;
+import org.junit.runner.Request;
+import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.Filterable;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.manipulation.Sortable;
+import org.junit.runner.manipulation.Sorter;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runner.notification.StoppedByUserException;
+
+/**
+ * A {@link Request} that stops running tests after a number of tests failed.
+ *
+ * @since 4.13
+ */
+public final class StopAfterFailuresRequest extends Request {
+    private final Request request;
+
+    private final int maxFailures;
+
+    /**
+     * Creates a Request that stops after {@code maxFailures} failures.
+     *
+     * @param request a {@link Request} describing your Tests
+     * @param maxFailures the number of failures after which no more tests
+     * are started
+     */
+    public StopAfterFailuresRequest(Request request, int maxFailures) {
+        if (maxFailures < 1) {
+            throw new IllegalArgumentException(
+                    "The number of failures must be positive, but was " + maxFailures);
+        }
+        this.request = request;
+        this.maxFailures = maxFailures;
+    }
+
+    @Override
+    public Runner getRunner() {
+        return new StoppingRunner(request.getRunner(), maxFailures);
+    }
+
+    /**
+     * Runs the tests with a {@link RunNotifier} of its own, which passes the
+     * events on to the notifier of the run. Asking the own notifier to stop
+     * leaves the notifier of the run usable for later runs.
+     */
+    private static final class StoppingRunner extends Runner implements Filterable, Sortable {
+        private final Runner runner;
+
+        private final int maxFailures;
+
+        StoppingRunner(Runner runner, int maxFailures) {
+            this.runner = runner;
+            this.maxFailures = maxFailures;
+        }
+
+        @Override
+        public Description getDescription() {
+            return runner.getDescription();
+        }
+
+        @Override
+        public void run(RunNotifier notifier) {
+            RunNotifier ownNotifier = new RunNotifier();
+            Forwarder forwarder = new Forwarder(notifier, ownNotifier, maxFailures);
+            ownNotifier.addListener(forwarder);
+            try {
+                runner.run(ownNotifier);
+            } catch (StoppedByUserException e) {
+                if (forwarder.outerStopped) {
+                    throw e;
+                }
+            }
+            if (forwarder.outerStopped) {
+                throw new StoppedByUserException();
+            }
+        }
+
+        public void filter(Filter filter) throws NoTestsRemainException {
+            filter.apply(runner);
+        }
+
+        public void sort(Sorter sorter) {
+            sorter.apply(runner);
+        }
+    }
+
+    @RunListener.ThreadSafe
+    private static final class Forwarder extends RunListener {
+        private final RunNotifier notifier;
+
+        private final RunNotifier ownNotifier;
+
+        private final int maxFailures;
+
+        private final AtomicInteger failures = new AtomicInteger();
+
+        volatile boolean outerStopped;
+
+        Forwarder(RunNotifier notifier, RunNotifier ownNotifier, int maxFailures) {
+            this.notifier = notifier;
+            this.ownNotifier = ownNotifier;
+            this.maxFailures = maxFailures;
+        }
+
+        @Override
+        public void testSuiteStarted(Description description) {
+            notifier.fireTestSuiteStarted(description);
+        }
+
+        @Override
+        public void testSuiteFinished(Description description) {
+            notifier.fireTestSuiteFinished(description);
+        }
+
+        @Override
+        public void testStarted(Description description) {
+            try {
+                notifier.fireTestStarted(description);
+            } catch (StoppedByUserException e) {
+                // The test has started already, stop before the next one.
+                outerStopped = true;
+                ownNotifier.pleaseStop();
+            }
+        }
+
+        @Override
+        public void testFinished(Description description) {
+            notifier.fireTestFinished(description);
+        }
+
+        @Override
+        public void testFailure(Failure failure) {
+            notifier.fireTestFailure(failure);
+            if (failures.incrementAndGet() >= maxFailures) {
+                ownNotifier.pleaseStop();
+            }
+        }
+
+        @Override
+        public void testAssumptionFailure(Failure failure) {
+            notifier.fireTestAssumptionFailed(failure);
+        }
+
+        @Override
+        public void testIgnored(Description description) {
+            notifier.fireTestIgnored(description);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package org.junit.internal.runners.statements;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.internal.management.ManagementFactory;
+import org.junit.internal.management.ThreadMXBean;
+
+/**
+ * Samples the CPU time of the threads of a thread group while a test runs, so
+ * that the busiest thread is known when the test times out. Sampling runs on
+ * the thread of the {@link TimeoutWatchdog}.
+ */
+final class CpuSampler implements Runnable {
+    /**
+     * The number of CPU time differences kept for each thread.
+     */
+    static final int HISTORY_LENGTH = 5;
+
+    private static final long MIN_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private static final long MAX_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ThreadGroup group;
+
+    private final ThreadMXBean mxBean;
+
+    private final long intervalNanos;
+
+    private final Map<Thread, Samples> samples = new HashMap<Thread, Samples>();
+
+    private Future<?> future;
+
+    private CpuSampler(ThreadGroup group, ThreadMXBean mxBean, long intervalNanos) {
+        this.group = group;
+        this.mxBean = mxBean;
+        this.intervalNanos = intervalNanos;
+    }
+
+    /**
+     * Starts sampling the threads of {@code group} ten times per timeout, or
+     * returns {@code null} if the CPU time of threads cannot be measured.
+     */
+    static CpuSampler start(ThreadGroup group, long timeout, TimeUnit unit) {
+        ThreadMXBean mxBean = ManagementFactory.getThreadMXBean();
+        if (!mxBean.isThreadCpuTimeSupported()) {
+            return null;
+        }
+        long intervalNanos = Math.max(MIN_INTERVAL_NANOS,
+                Math.min(MAX_INTERVAL_NANOS, unit.toNanos(timeout) / 10));
+        CpuSampler sampler = new CpuSampler(group, mxBean, intervalNanos);
+        sampler.future = TimeoutWatchdog.executor().scheduleWithFixedDelay(
+                sampler, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+        return sampler;
+    }
+
+    /**
+     * Stops sampling.
+     */
+    void stop() {
+        future.cancel(false);
+        if (future instanceof Runnable) {
+            TimeoutWatchdog.executor().remove((Runnable) future);
+        }
+    }
+
+    public synchronized void run() {
+        // Threads that do not fit into the array are sampled next time.
+        Thread[] threads = new Thread[group.activeCount() + 16];
+        int count = group.enumerate(threads);
+        for (int i = 0; i < count; i++) {
+            Thread thread = threads[i];
+            Samples threadSamples = samples.get(thread);
+            if (threadSamples == null) {
+                threadSamples = new Samples();
+                samples.put(thread, threadSamples);
+            }
+            threadSamples.add(cpuTime(thread));
+        }
+    }
+
+    private long cpuTime(Thread thread) {
+        try {
+            return mxBean.getThreadCpuTime(thread.getId());
+        } catch (UnsupportedOperationException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns the runnable thread that used the most CPU time in the last
+     * samples, or {@code null} if no thread was sampled.
+     */
+    synchronized Thread getBusiestThread() {
+        Thread busiest = null;
+        Samples busiestSamples = null;
+        for (Map.Entry<Thread, Samples> each : samples.entrySet()) {
+            if (each.getKey().getState() == Thread.State.RUNNABLE
+                    && (busiest == null || each.getValue().isBusierThan(busiestSamples))) {
+                busiest = each.getKey();
+                busiestSamples = each.getValue();
+            }
+        }
+        return busiest;
+    }
+
+    /**
+     * Returns the CPU time used by {@code thread} during the last sampling
+     * intervals, oldest first, formatted for a failure message.
+     */
+    synchronized String describeHistory(Thread thread) {
+        Samples threadSamples = samples.get(thread);
+        if (threadSamples == null || threadSamples.count == 0) {
+            return "";
+        }
+        StringBuilder description = new StringBuilder("CPU time per ")
+                .append(TimeUnit.NANOSECONDS.toMillis(intervalNanos)).append(" ms:");
+        int first = Math.max(0, threadSamples.count - HISTORY_LENGTH);
+        for (int i = first; i < threadSamples.count; i++) {
+            long delta = threadSamples.deltas[i % HISTORY_LENGTH];
+            description.append(i == first ? " " : ", ")
+                    .append(TimeUnit.NANOSECONDS.toMillis(delta)).append(" ms");
+        }
+        return description.toString();
+    }
+
+    /**
+     * The CPU time used by one thread.
+     */
+    private static class Samples {
+        private final long[] deltas = new long[HISTORY_LENGTH];
+
+        private int count;
+
+        private long last = -1;
+
+        void add(long cpuTime) {
+            if (cpuTime < 0) {
+                return;
+            }
+            if (last >= 0) {
+                deltas[count++ % HISTORY_LENGTH] = cpuTime - last;
+            }
+            last = cpuTime;
+        }
+
+        long recent() {
+            long sum = 0;
+            for (int i = 0; i < Math.min(count, HISTORY_LENGTH); i++) {
+                sum += deltas[i];
+            }
+            return sum;
+        }
+
+        boolean isBusierThan(Samples other) {
+            long recent = recent();
+            long otherRecent = other.recent();
+            return recent != otherRecent ? recent > otherRecent : last > other.last;
+        }
+    }
+}
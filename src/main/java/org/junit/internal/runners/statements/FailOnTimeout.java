@@ -21,6 +21,7 @@ public class FailOnTimeout extends Statement {
     private final TimeUnit timeUnit;
     private final long timeout;
     private final boolean lookForStuckThread;
+    private final boolean useWatchdog;
 
     /**
      * Returns a new builder for building an instance.
@@ -48,6 +49,7 @@ public class FailOnTimeout extends Statement {
         timeout = builder.timeout;
         timeUnit = builder.unit;
         lookForStuckThread = builder.lookForStuckThread;
+        useWatchdog = builder.useWatchdog && !builder.lookForStuckThread;
     }
 
     /**
@@ -57,6 +59,7 @@ public class FailOnTimeout extends Statement {
      */
     public static class Builder {
         private boolean lookForStuckThread = false;
+        private boolean useWatchdog = false;
         private long timeout = 0;
         private TimeUnit unit = TimeUnit.SECONDS;
 
@@ -102,6 +105,26 @@ public class FailOnTimeout extends Statement {
             return this;
         }
 
+        /**
+         * Specifies whether to run the test on the calling thread and let a
+         * watchdog shared by all tests interrupt it when it times out. This
+         * avoids creating a thread for each test, which is a large part of the
+         * cost of a fast test. A test that does not stop when it is
+         * interrupted, for example because it is in an endless loop, keeps
+         * running though, and keeps the calling thread busy.
+         *
+         * <p>The watchdog is not used if looking for stuck threads is enabled,
+         * because it needs a thread group of its own for the test.
+         *
+         * @param enable {@code true} to use the watchdog
+         * @return {@code this} for method chaining.
+         * @since 4.13
+         */
+        public Builder withWatchdog(boolean enable) {
+            this.useWatchdog = enable;
+            return this;
+        }
+
         /**
          * Builds a {@link FailOnTimeout} instance using the values in this builder,
          * wrapping the given statement.
@@ -118,6 +141,10 @@ public class FailOnTimeout extends Statement {
 
     @Override
     public void evaluate() throws Throwable {
+        if (useWatchdog) {
+            evaluateWithWatchdog();
+            return;
+        }
         //由于是计算方法运行的timeout的，为了尽可能的精确计算方法的执行时间，使用CallableStatement做为辅助类
         //该类继承自Callable，在运行该类的线程开始运行时调用该类的awaitStarted()方法，即使用CountDownLatch.await()
         //来等待方法的执行，CallableStatement的call方法中通过CountDownLatch.countDown通知方法开始执行，在方法开始后
@@ -129,18 +156,57 @@ public class FailOnTimeout extends Statement {
         thread.setDaemon(true);
         thread.start();
         callable.awaitStarted();
-        Throwable throwable = getResult(task, thread);
+        CpuSampler sampler = lookForStuckThread && timeout > 0
+                ? CpuSampler.start(threadGroup, timeout, timeUnit) : null;
+        Throwable throwable;
+        try {
+            throwable = getResult(task, thread, sampler);
+        } finally {
+            if (sampler != null) {
+                sampler.stop();
+            }
+        }
         if (throwable != null) {
             throw throwable;
         }
     }
 
+    private void evaluateWithWatchdog() throws Throwable {
+        if (timeout == 0) {
+            originalStatement.evaluate();
+            return;
+        }
+        TimeoutWatchdog.Watch watch = TimeoutWatchdog.start(timeout, timeUnit);
+        StackTraceElement[] stackTrace;
+        try {
+            originalStatement.evaluate();
+        } catch (Throwable e) {
+            stackTrace = watch.stop();
+            if (stackTrace == null) {
+                throw e;
+            }
+            // The test stopped because it was interrupted.
+            throw createTimeoutException(stackTrace);
+        }
+        stackTrace = watch.stop();
+        if (stackTrace != null) {
+            throw createTimeoutException(stackTrace);
+        }
+    }
+
+    private Exception createTimeoutException(StackTraceElement[] stackTrace) {
+        Exception exception = new TestTimedOutException(timeout, timeUnit);
+        exception.setStackTrace(stackTrace);
+        return exception;
+    }
+
     /**
      * Wait for the test task, returning the exception thrown by the test if the
      * test failed, an exception indicating a timeout if the test timed out, or
      * {@code null} if the test passed.
      */
-    private Throwable getResult(FutureTask<Throwable> task, Thread thread) {
+    private Throwable getResult(FutureTask<Throwable> task, Thread thread,
+            CpuSampler sampler) {
         try {
             if (timeout > 0) {
                 return task.get(timeout, timeUnit);
@@ -153,22 +219,24 @@ public class FailOnTimeout extends Statement {
             // test failed; have caller re-throw the exception thrown by the test
             return e.getCause();
         } catch (TimeoutException e) {
-            return createTimeoutException(thread);
+            return createTimeoutException(thread, sampler);
         }
     }
 
-    private Exception createTimeoutException(Thread thread) {
+    private Exception createTimeoutException(Thread thread, CpuSampler sampler) {
         StackTraceElement[] stackTrace = thread.getStackTrace();
-        final Thread stuckThread = lookForStuckThread ? getStuckThread(thread) : null;
+        final Thread stuckThread = lookForStuckThread ? getStuckThread(thread, sampler) : null;
         Exception currThreadException = new TestTimedOutException(timeout, timeUnit);
         if (stackTrace != null) {
             currThreadException.setStackTrace(stackTrace);
             thread.interrupt();
         }
         if (stuckThread != null) {
+            String history = sampler == null ? "" : sampler.describeHistory(stuckThread);
             Exception stuckThreadException = 
                 new Exception("Appears to be stuck in thread " +
-                               stuckThread.getName());
+                               stuckThread.getName() +
+                               (history.length() == 0 ? "" : " (" + history + ")"));
             stuckThreadException.setStackTrace(getStackTrace(stuckThread));
             return new MultipleFailureException(
                 Arrays.<Throwable>asList(currThreadException, stuckThreadException));
@@ -196,12 +264,22 @@ public class FailOnTimeout extends Statement {
      * the "main thread" (the one created to run the test).  This feature is experimental.
      * Behavior may change after the 4.12 release in response to feedback.
      * @param mainThread The main thread created by {@code evaluate()}
+     * @param sampler The sampler of the CPU time used by the threads of the test, or
+     * {@code null} if the CPU time is not sampled
      * @return The thread which appears to be causing the problem, if different from
      * {@code mainThread}, or {@code null} if the main thread appears to be the
      * problem or if the thread cannot be determined.  The return value is never equal 
      * to {@code mainThread}.
      */
-    private Thread getStuckThread(Thread mainThread) {
+    private Thread getStuckThread(Thread mainThread, CpuSampler sampler) {
+        if (sampler != null) {
+            // Take a last sample, so that the busiest thread is up to date.
+            sampler.run();
+            Thread busiest = sampler.getBusiestThread();
+            if (busiest != null) {
+                return (busiest == mainThread) ? null : busiest;
+            }
+        }
         List<Thread> threadsInGroup = getThreadsInGroup(mainThread.getThreadGroup());
         if (threadsInGroup.isEmpty()) {
             return null;
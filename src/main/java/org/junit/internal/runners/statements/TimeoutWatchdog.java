@@ -0,0 +1,90 @@
+package org.junit.internal.runners.statements;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interrupts threads that run longer than their timeout. A single daemon
+ * thread watches all tests, so arming and disarming a timeout costs no more
+ * than scheduling a task. The thread also samples the CPU time of threads for
+ * {@link CpuSampler}.
+ */
+final class TimeoutWatchdog {
+    private static ScheduledThreadPoolExecutor executor;
+
+    private TimeoutWatchdog() {
+    }
+
+    /**
+     * Starts watching the current thread. The thread is interrupted if
+     * {@link Watch#stop()} is not called within {@code timeout}.
+     */
+    static Watch start(long timeout, TimeUnit unit) {
+        Watch watch = new Watch(Thread.currentThread());
+        watch.future = executor().schedule(watch, timeout, unit);
+        return watch;
+    }
+
+    static synchronized ScheduledThreadPoolExecutor executor() {
+        if (executor == null) {
+            executor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "FailOnTimeout watchdog");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return executor;
+    }
+
+    static class Watch implements Runnable {
+        private final Thread thread;
+
+        private Future<?> future;
+
+        private boolean stopped;
+
+        private StackTraceElement[] stackTrace;
+
+        Watch(Thread thread) {
+            this.thread = thread;
+        }
+
+        public synchronized void run() {
+            if (!stopped) {
+                stopped = true;
+                try {
+                    stackTrace = thread.getStackTrace();
+                } catch (SecurityException e) {
+                    stackTrace = new StackTraceElement[0];
+                }
+                thread.interrupt();
+            }
+        }
+
+        /**
+         * Stops watching the thread. Returns the stack trace of the thread at
+         * the moment it timed out, or {@code null} if it did not time out.
+         * The interrupted status of a thread that timed out is cleared.
+         */
+        StackTraceElement[] stop() {
+            synchronized (this) {
+                if (!stopped) {
+                    stopped = true;
+                    future.cancel(false);
+                    if (future instanceof Runnable) {
+                        // Cancelled tasks stay in the queue until they are due.
+                        executor().remove((Runnable) future);
+                    }
+                    return null;
+                }
+            }
+            // The watchdog has interrupted this thread while holding the lock.
+            Thread.interrupted();
+            return stackTrace;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package org.junit.rules;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Deletes the folders of {@link TemporaryFolder}s on a small pool of daemon
+ * threads. A folder is first renamed, so that its name is free again and a
+ * half-deleted folder is recognizable, and then its subfolders are deleted in
+ * parallel. The folders that have not been deleted when the JVM exits are
+ * deleted by a shutdown hook. Folders that are left over because a JVM was
+ * killed are deleted when the next JVM first deletes a folder in the same
+ * parent folder.
+ */
+final class BackgroundDeletion {
+    /*
+     * The prefix of the names of the folders that TemporaryFolder creates.
+     */
+    private static final String TRASH_PREFIX = "junit";
+
+    private static final String TRASH_SUFFIX = ".trash";
+
+    private static final AtomicInteger TRASH_NUMBER = new AtomicInteger();
+
+    private static final Set<File> PENDING = new HashSet<File>(); // guarded by PENDING
+
+    private static final Set<File> SWEPT_PARENTS = new HashSet<File>(); // guarded by PENDING
+
+    private static int sweeping; // guarded by PENDING
+
+    private BackgroundDeletion() {
+    }
+
+    /**
+     * Holds the pool, so that it is only created when a folder is deleted in
+     * the background.
+     */
+    private static final class Pool {
+        static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+                Math.min(4, Runtime.getRuntime().availableProcessors()),
+                new ThreadFactory() {
+                    private final AtomicInteger threadNumber = new AtomicInteger();
+
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "TemporaryFolder-deletion-"
+                                + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+
+        static {
+            Runtime.getRuntime().addShutdownHook(new Thread("TemporaryFolder-sweeper") {
+                @Override
+                public void run() {
+                    sweep();
+                }
+            });
+        }
+    }
+
+    /**
+     * Renames {@code folder} and deletes it in the background.
+     *
+     * @return {@code false} if the folder could not be renamed, in which case
+     *         it has not been touched
+     */
+    static boolean delete(File folder) {
+        File trash = new File(folder.getPath() + "-" + TRASH_NUMBER.incrementAndGet()
+                + TRASH_SUFFIX);
+        boolean sweep;
+        synchronized (PENDING) {
+            // Renamed while holding the lock, so that a sweep never mistakes
+            // the trash for a leftover.
+            if (!folder.renameTo(trash)) {
+                return false;
+            }
+            PENDING.add(trash);
+            sweep = SWEPT_PARENTS.add(trash.getAbsoluteFile().getParentFile());
+            if (sweep) {
+                sweeping++;
+            }
+        }
+        Pool.EXECUTOR.execute(new DirectoryDeletion(trash, null));
+        if (sweep) {
+            Pool.EXECUTOR.execute(new LeftoverSweep(trash.getAbsoluteFile().getParentFile()));
+        }
+        return true;
+    }
+
+    /**
+     * Waits until all folders that are deleted in the background have been
+     * deleted, or until the timeout expires.
+     *
+     * @return whether all folders have been deleted
+     */
+    static boolean awaitDeletion(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (PENDING) {
+            while (!PENDING.isEmpty() || sweeping > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(PENDING, remaining);
+            }
+            return true;
+        }
+    }
+
+    private static void sweep() {
+        File[] pending;
+        synchronized (PENDING) {
+            pending = PENDING.toArray(new File[PENDING.size()]);
+        }
+        for (File each : pending) {
+            recursiveDelete(each);
+        }
+    }
+
+    private static void recursiveDelete(File file) {
+        if (file.delete()) {
+            return;
+        }
+        File[] files = file.listFiles();
+        if (files != null) {
+            for (File each : files) {
+                recursiveDelete(each);
+            }
+        }
+        file.delete();
+    }
+
+    private static void finished(File trash) {
+        synchronized (PENDING) {
+            PENDING.remove(trash);
+            PENDING.notifyAll();
+        }
+    }
+
+    /**
+     * Deletes the trash folders in a parent folder that were left over by
+     * JVMs that did not finish deleting them.
+     */
+    private static final class LeftoverSweep implements Runnable {
+        private final File parent;
+
+        LeftoverSweep(File parent) {
+            this.parent = parent;
+        }
+
+        public void run() {
+            try {
+                File[] files = parent.listFiles();
+                if (files == null) {
+                    return;
+                }
+                for (File each : files) {
+                    String name = each.getName();
+                    if (name.startsWith(TRASH_PREFIX) && name.endsWith(TRASH_SUFFIX)) {
+                        synchronized (PENDING) {
+                            if (!PENDING.add(each)) {
+                                continue;
+                            }
+                        }
+                        Pool.EXECUTOR.execute(new DirectoryDeletion(each, null));
+                    }
+                }
+            } finally {
+                synchronized (PENDING) {
+                    sweeping--;
+                    PENDING.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes the files of a directory, hands its subdirectories to the pool
+     * and deletes the directory when the last of them has been deleted.
+     */
+    private static final class DirectoryDeletion implements Runnable {
+        private final File directory;
+
+        private final DirectoryDeletion parent;
+
+        /*
+         * The number of subdirectories that have not been deleted yet, plus
+         * one while the directory is listed.
+         */
+        private final AtomicInteger pending = new AtomicInteger(1);
+
+        DirectoryDeletion(File directory, DirectoryDeletion parent) {
+            this.directory = directory;
+            this.parent = parent;
+        }
+
+        public void run() {
+            try {
+                File[] files = directory.listFiles();
+                if (files != null) {
+                    for (File each : files) {
+                        // Try deleting file before assuming file is a directory
+                        // to prevent following symbolic links.
+                        if (!each.delete()) {
+                            pending.incrementAndGet();
+                            Pool.EXECUTOR.execute(new DirectoryDeletion(each, this));
+                        }
+                    }
+                }
+            } finally {
+                childFinished();
+            }
+        }
+
+        private void childFinished() {
+            if (pending.decrementAndGet() == 0) {
+                directory.delete();
+                if (parent == null) {
+                    finished(directory);
+                } else {
+                    parent.childFinished();
+                }
+            }
+        }
+    }
+}
@@ -4,6 +4,8 @@ import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.Rule;
 
@@ -37,16 +39,40 @@ import org.junit.Rule;
  *  public TemporaryFolder folder= TemporaryFolder.builder().assureDeletion().build();
  * </pre>
  *
+ * <p>Folders with many files can be deleted in the background instead, so
+ * that the next test does not wait for the deletion:
+ * <pre>
+ *  &#064;Rule
+ *  public TemporaryFolder folder= TemporaryFolder.builder().deleteInBackground().build();
+ * </pre>
+ *
+ * <p>A TemporaryFolder can start out with a copy of a template folder:
+ * <pre>
+ *  &#064;Rule
+ *  public TemporaryFolder folder= TemporaryFolder.builder()
+ *      .template(new File(&quot;src/test/resources/fixture&quot;)).build();
+ * </pre>
+ *
  * @since 4.7
  */
 public class TemporaryFolder extends ExternalResource {
     private final File parentFolder;
     private final boolean assureDeletion;
+    private final boolean deleteInBackground;
+    private final File template;
     private File folder;
 
     private static final int TEMP_DIR_ATTEMPTS = 10000;
     private static final String TMP_PREFIX = "junit";
 
+    /*
+     * Folders are named with a random prefix per JVM and a counter, so that
+     * threads and JVMs that share a parent folder rarely pick the same name.
+     */
+    private static final String FOLDER_PREFIX = TMP_PREFIX
+            + Long.toString(new Random().nextLong() & Long.MAX_VALUE, 36) + "-";
+    private static final AtomicLong FOLDER_COUNTER = new AtomicLong();
+
     /**
      * Create a temporary folder which uses system default temporary-file 
      * directory to create temporary resources.
@@ -65,6 +91,8 @@ public class TemporaryFolder extends ExternalResource {
     public TemporaryFolder(File parentFolder) {
         this.parentFolder = parentFolder;
         this.assureDeletion = false;
+        this.deleteInBackground = false;
+        this.template = null;
     }
 
     /**
@@ -74,6 +102,8 @@ public class TemporaryFolder extends ExternalResource {
     protected TemporaryFolder(Builder builder) {
         this.parentFolder = builder.parentFolder;
         this.assureDeletion = builder.assureDeletion;
+        this.deleteInBackground = builder.deleteInBackground;
+        this.template = builder.template;
     }
 
     /**
@@ -93,6 +123,8 @@ public class TemporaryFolder extends ExternalResource {
     public static class Builder {
         private File parentFolder;
         private boolean assureDeletion;
+        private boolean deleteInBackground;
+        private File template;
 
         protected Builder() {}
 
@@ -120,6 +152,38 @@ public class TemporaryFolder extends ExternalResource {
             return this;
         }
 
+        /**
+         * Setting this flag lets the temporary folder be renamed when the test
+         * finishes, and deleted by background threads. Folders that have not
+         * been deleted when the JVM exits are deleted by a shutdown hook. If
+         * the JVM is killed, its renamed folders ({@code junit*.trash}) are
+         * deleted by the next JVM that deletes a folder in the background in
+         * the same parent folder.
+         * Deletion failures are not reported. If the folder cannot be renamed,
+         * or if deletion is assured with {@link #assureDeletion()}, it is
+         * deleted before the test finishes, as usual.
+         *
+         * @return this
+         */
+        public Builder deleteInBackground() {
+            this.deleteInBackground = true;
+            return this;
+        }
+
+        /**
+         * Specifies a folder whose content is copied into the temporary
+         * folder when it is created. The files are copied in parallel by
+         * background threads, and the test starts when the copy is complete.
+         * Symbolic links in the template are skipped. If {@code null} then the
+         * temporary folder starts out empty.
+         *
+         * @return this
+         */
+        public Builder template(File template) {
+            this.template = template;
+            return this;
+        }
+
         /**
          * Builds a {@link TemporaryFolder} instance using the values in this builder.
          */
@@ -145,6 +209,19 @@ public class TemporaryFolder extends ExternalResource {
      */
     public void create() throws IOException {
         folder = createTemporaryFolderIn(parentFolder);
+        if (template != null) {
+            boolean copied = false;
+            try {
+                TreeCopy.copy(template, folder);
+                copied = true;
+            } finally {
+                if (!copied) {
+                    // after() is not called if before() fails.
+                    recursiveDelete(folder);
+                    folder = null;
+                }
+            }
+        }
     }
 
     /**
@@ -224,24 +301,27 @@ public class TemporaryFolder extends ExternalResource {
         return createTemporaryFolderIn(getRoot());
     }
 
-    private File createTemporaryFolderIn(File parentFolder) throws IOException {
+    private static File createTemporaryFolderIn(File parentFolder) throws IOException {
+        if (parentFolder == null) {
+            parentFolder = new File(System.getProperty("java.io.tmpdir"));
+        }
         File createdFolder = null;
-        for (int i = 0; i < TEMP_DIR_ATTEMPTS; ++i) {
-            // Use createTempFile to get a suitable folder name.
-            String suffix = ".tmp";
-            File tmpFile = File.createTempFile(TMP_PREFIX, suffix, parentFolder);
-            String tmpName = tmpFile.toString();
-            // Discard .tmp suffix of tmpName.
-            String folderName = tmpName.substring(0, tmpName.length() - suffix.length());
-            createdFolder = new File(folderName);
+        int attempts = 0;
+        while (attempts < TEMP_DIR_ATTEMPTS) {
+            ++attempts;
+            // The name is unique within this JVM, and mkdir() is atomic, so
+            // this usually succeeds on the first attempt.
+            createdFolder = new File(parentFolder,
+                    FOLDER_PREFIX + FOLDER_COUNTER.incrementAndGet());
             if (createdFolder.mkdir()) {
-                tmpFile.delete();
                 return createdFolder;
             }
-            tmpFile.delete();
+            if (!parentFolder.isDirectory()) {
+                break;
+            }
         }
         throw new IOException("Unable to create temporary directory in: "
-            + parentFolder.toString() + ". Tried " + TEMP_DIR_ATTEMPTS + " times. "
+            + parentFolder.toString() + ". Tried " + attempts + " times. "
             + "Last attempted to create: " + createdFolder.toString());
     }
 
@@ -264,6 +344,10 @@ public class TemporaryFolder extends ExternalResource {
      * and deletion of resources is assured.
      */
     public void delete() {
+        if (deleteInBackground && !assureDeletion && folder != null
+                && BackgroundDeletion.delete(folder)) {
+            return;
+        }
         if (!tryDelete()) {
             if (assureDeletion) {
                 fail("Unable to clean up temporary folder " + folder);
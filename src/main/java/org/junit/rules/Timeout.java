@@ -41,6 +41,7 @@ public class Timeout implements TestRule {
     private final long timeout;
     private final TimeUnit timeUnit;
     private final boolean lookForStuckThread;
+    private final boolean useWatchdog;
 
     /**
      * Returns a new builder for building an instance.
@@ -81,6 +82,7 @@ public class Timeout implements TestRule {
         this.timeout = timeout;
         this.timeUnit = timeUnit;
         lookForStuckThread = false;
+        useWatchdog = false;
     }
 
     /**
@@ -93,6 +95,7 @@ public class Timeout implements TestRule {
         timeout = builder.getTimeout();
         timeUnit = builder.getTimeUnit();
         lookForStuckThread = builder.getLookingForStuckThread();
+        useWatchdog = builder.getUsingWatchdog();
     }
 
     /**
@@ -134,6 +137,16 @@ public class Timeout implements TestRule {
         return lookForStuckThread;
     }
 
+    /**
+     * Gets whether this {@code Timeout} runs the test on the calling thread
+     * and lets a shared watchdog interrupt it when it times out.
+     *
+     * @since 4.13
+     */
+    protected final boolean getUsingWatchdog() {
+        return useWatchdog;
+    }
+
     /**
      * Creates a {@link Statement} that will run the given
      * {@code statement}, and timeout the operation based
@@ -147,6 +160,7 @@ public class Timeout implements TestRule {
         return FailOnTimeout.builder()
             .withTimeout(timeout, timeUnit)
             .withLookingForStuckThread(lookForStuckThread)
+            .withWatchdog(useWatchdog)
             .build(statement);
     }
 
@@ -169,6 +183,7 @@ public class Timeout implements TestRule {
      */
     public static class Builder {
         private boolean lookForStuckThread = false;
+        private boolean useWatchdog = false;
         private long timeout = 0;
         private TimeUnit timeUnit = TimeUnit.SECONDS;
 
@@ -222,6 +237,26 @@ public class Timeout implements TestRule {
             return lookForStuckThread;
         }
 
+        /**
+         * Specifies whether to run the test on the calling thread and let a
+         * watchdog shared by all tests interrupt it when it times out, instead
+         * of starting a thread for each test. Tests that do not stop when they
+         * are interrupted keep running after their timeout. The watchdog is
+         * not used if looking for stuck threads is enabled.
+         *
+         * @param enable {@code true} to use the watchdog
+         * @return {@code this} for method chaining.
+         * @since 4.13
+         */
+        public Builder withWatchdog(boolean enable) {
+            this.useWatchdog = enable;
+            return this;
+        }
+
+        protected boolean getUsingWatchdog() {
+            return useWatchdog;
+        }
+
 
         /**
          * Builds a {@link Timeout} instance using the values in this builder.,
@@ -0,0 +1,211 @@
+package org.junit.rules;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Copies a directory tree with a small pool of daemon threads, which copy the
+ * files of the tree in parallel. Used to seed {@link TemporaryFolder}s from a
+ * template. Symbolic links are neither followed nor copied, as the Java 5 API
+ * cannot create them.
+ */
+final class TreeCopy {
+    private final Object lock = new Object();
+
+    private int pending; // guarded by lock
+
+    private IOException failure; // guarded by lock
+
+    private TreeCopy() {
+    }
+
+    /**
+     * Holds the pool, so that it is only created when a template is copied.
+     */
+    private static final class Pool {
+        static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+                Math.min(8, 2 * Runtime.getRuntime().availableProcessors()),
+                new ThreadFactory() {
+                    private final AtomicInteger threadNumber = new AtomicInteger();
+
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "TemporaryFolder-copy-"
+                                + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+    }
+
+    /**
+     * Copies the content of the directory {@code source} into the existing
+     * directory {@code target}, and waits until the copy is complete. If the
+     * caller is interrupted, the copy is stopped, and the method returns only
+     * after the tasks that were already running have finished.
+     *
+     * @throws IOException if {@code source} is not a directory or a file
+     * could not be copied
+     */
+    static void copy(File source, File target) throws IOException {
+        if (!source.isDirectory()) {
+            throw new IOException("template \'" + source + "\' is not a directory");
+        }
+        new TreeCopy().copyAndWait(source, target);
+    }
+
+    private void copyAndWait(File source, File target) throws IOException {
+        submit(new DirectoryCopy(source, target));
+        boolean interrupted = false;
+        IOException result;
+        synchronized (lock) {
+            while (pending > 0) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    // Stop the copy, but do not return while tasks still
+                    // write into the target.
+                    interrupted = true;
+                    if (failure == null) {
+                        failure = new InterruptedIOException("interrupted while copying " + source);
+                    }
+                }
+            }
+            result = failure;
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (result != null) {
+            throw result;
+        }
+    }
+
+    private boolean isStopped() {
+        synchronized (lock) {
+            return failure != null;
+        }
+    }
+
+    private void submit(Task task) {
+        synchronized (lock) {
+            if (failure != null) {
+                return;
+            }
+            pending++;
+        }
+        Pool.EXECUTOR.execute(task);
+    }
+
+    private abstract class Task implements Runnable {
+        public final void run() {
+            IOException e = null;
+            try {
+                if (!isStopped()) {
+                    copy();
+                }
+            } catch (IOException thrown) {
+                e = thrown;
+            } catch (RuntimeException thrown) {
+                e = new IOException("could not copy template");
+                e.initCause(thrown);
+            }
+            synchronized (lock) {
+                if (e != null && failure == null) {
+                    failure = e;
+                }
+                if (--pending == 0) {
+                    lock.notifyAll();
+                }
+            }
+        }
+
+        abstract void copy() throws IOException;
+    }
+
+    private final class DirectoryCopy extends Task {
+        private final File source;
+
+        private final File target;
+
+        DirectoryCopy(File source, File target) {
+            this.source = source;
+            this.target = target;
+        }
+
+        @Override
+        void copy() throws IOException {
+            File[] files = source.listFiles();
+            if (files == null) {
+                throw new IOException("could not list template folder \'" + source + "\'");
+            }
+            for (File each : files) {
+                if (isSymbolicLink(each)) {
+                    continue;
+                }
+                File copy = new File(target, each.getName());
+                if (each.isDirectory()) {
+                    if (!copy.mkdir()) {
+                        throw new IOException("could not create folder \'" + copy + "\'");
+                    }
+                    submit(new DirectoryCopy(each, copy));
+                } else {
+                    submit(new FileCopy(each, copy));
+                }
+            }
+        }
+    }
+
+    private final class FileCopy extends Task {
+        private final File source;
+
+        private final File target;
+
+        FileCopy(File source, File target) {
+            this.source = source;
+            this.target = target;
+        }
+
+        @Override
+        void copy() throws IOException {
+            FileChannel in = new FileInputStream(source).getChannel();
+            try {
+                FileChannel out = new FileOutputStream(target).getChannel();
+                try {
+                    long size = in.size();
+                    long position = 0;
+                    while (position < size && !isStopped()) {
+                        long transferred = in.transferTo(position, size - position, out);
+                        if (transferred <= 0) {
+                            break; // the file was truncated meanwhile
+                        }
+                        position += transferred;
+                    }
+                } finally {
+                    out.close();
+                }
+            } finally {
+                in.close();
+            }
+            target.setLastModified(source.lastModified());
+        }
+    }
+
+    /**
+     * Returns whether {@code file} is a symbolic link. Java 5 cannot tell
+     * directly, but the canonical path of a link differs from its path within
+     * its canonical parent.
+     */
+    static boolean isSymbolicLink(File file) throws IOException {
+        File inCanonicalParent = new File(
+                file.getAbsoluteFile().getParentFile().getCanonicalFile(), file.getName());
+        return !inCanonicalParent.getCanonicalFile().equals(inCanonicalParent.getAbsoluteFile());
+    }
+}
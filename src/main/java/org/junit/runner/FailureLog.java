@@ -0,0 +1,203 @@
+package org.junit.runner;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.junit.runner.notification.Failure;
+
+/**
+ * A file of failures, written while the tests run, that is read back one
+ * failure at a time. Only the display name of the test and the class name,
+ * message and trimmed stack trace of the exception are kept. The failures
+ * read from the log therefore have descriptions without annotations, and
+ * exceptions that print the recorded stack trace.
+ */
+final class FailureLog implements Iterable<Failure> {
+    private final File file;
+
+    private DataOutputStream out;
+
+    private boolean created;
+
+    private int size;
+
+    FailureLog(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Appends {@code failure} and returns the number of failures in the log.
+     */
+    synchronized int append(Failure failure) throws IOException {
+        if (out == null) {
+            out = new DataOutputStream(new BufferedOutputStream(
+                    new FileOutputStream(file, created)));
+            created = true;
+        }
+        Throwable exception = failure.getException();
+        writeString(failure.getDescription().getDisplayName());
+        writeString(exception.getClass().getName());
+        writeString(exception.getMessage());
+        writeString(failure.getTrimmedTrace());
+        return ++size;
+    }
+
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = value.getBytes("UTF-8");
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Writes buffered failures to the file and closes it. Failures that are
+     * appended later are added to the same file.
+     */
+    synchronized void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    /**
+     * Returns an iterator that reads the failures from the file. An
+     * {@code IllegalStateException} is thrown if the file cannot be read.
+     */
+    public Iterator<Failure> iterator() {
+        synchronized (this) {
+            try {
+                if (out != null) {
+                    out.flush();
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not write failure log " + file, e);
+            }
+            if (!created) {
+                return new Reader(null);
+            }
+        }
+        try {
+            return new Reader(new DataInputStream(new BufferedInputStream(
+                    new FileInputStream(file))));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read failure log " + file, e);
+        }
+    }
+
+    private class Reader implements Iterator<Failure> {
+        private DataInputStream in;
+
+        private Failure next;
+
+        Reader(DataInputStream in) {
+            this.in = in;
+        }
+
+        public boolean hasNext() {
+            if (next == null && in != null) {
+                next = readFailure();
+            }
+            return next != null;
+        }
+
+        public Failure next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Failure result = next;
+            next = null;
+            return result;
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        private Failure readFailure() {
+            try {
+                String displayName;
+                try {
+                    displayName = readString();
+                } catch (EOFException e) {
+                    in.close();
+                    in = null;
+                    return null;
+                }
+                String className = readString();
+                String message = readString();
+                String trace = readString();
+                return new Failure(Description.createSuiteDescription(displayName),
+                        new LoggedException(className, message, trace));
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not read failure log " + file, e);
+            }
+        }
+
+        private String readString() throws IOException {
+            int length = in.readInt();
+            if (length < 0) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            return new String(bytes, "UTF-8");
+        }
+    }
+
+    /**
+     * Stands in for an exception that was written to the log.
+     */
+    private static class LoggedException extends Throwable {
+        private static final long serialVersionUID = 1L;
+
+        private final String className;
+
+        private final String trace;
+
+        LoggedException(String className, String message, String trace) {
+            super(message);
+            this.className = className;
+            this.trace = trace;
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            String message = getLocalizedMessage();
+            return message == null ? className : className + ": " + message;
+        }
+
+        @Override
+        public void printStackTrace(PrintStream s) {
+            s.print(trace);
+        }
+
+        @Override
+        public void printStackTrace(PrintWriter s) {
+            s.print(trace);
+        }
+    }
+}
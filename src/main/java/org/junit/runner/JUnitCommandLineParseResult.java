@@ -1,18 +1,32 @@
 package org.junit.runner;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 
+import org.junit.experimental.max.CouldNotReadCoreException;
+import org.junit.experimental.max.MaxHistory;
 import org.junit.internal.Classes;
 import org.junit.runner.FilterFactory.FilterNotCreatedException;
 import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.ShardFilter;
+import org.junit.runner.notification.RunListener;
 import org.junit.runners.model.InitializationError;
 
 class JUnitCommandLineParseResult {
     private final List<String> filterSpecs = new ArrayList<String>();
     private final List<Class<?>> classes = new ArrayList<Class<?>>();
     private final List<Throwable> parserErrors = new ArrayList<Throwable>();
+    private ShardFilter shard;
+    private File shardDurations;
+    private Map<String, Long> testDurations;
+    private File failuresFirst;
+    private Comparator<Description> failuresFirstComparator;
+    private RunListener failuresFirstListener;
+    private int stopAfterFailures;
 
     /**
      * Do not use. Testing purposes only.
@@ -33,6 +47,40 @@ class JUnitCommandLineParseResult {
         return Collections.unmodifiableList(classes);
     }
 
+    /**
+     * Returns the shard parsed from command line, or {@code null} if all
+     * tests should be run.
+     */
+    public ShardFilter getShard() {
+        return shard;
+    }
+
+    /**
+     * Returns the listener that records the history of the run when the
+     * {@code --failures-first} option is given, or {@code null} otherwise.
+     * It has to be added to the run.
+     */
+    public RunListener getFailuresFirstListener() {
+        loadFailuresFirstHistory();
+        return failuresFirstListener;
+    }
+
+    private void loadFailuresFirstHistory() {
+        if (failuresFirst != null && failuresFirstListener == null) {
+            MaxHistory history = MaxHistory.forFolder(failuresFirst);
+            failuresFirstComparator = history.failuresFirstComparator();
+            failuresFirstListener = history.listener();
+        }
+    }
+
+    /**
+     * Returns the number of failures after which the run stops, or {@code 0}
+     * if the run does not stop on failures.
+     */
+    public int getStopAfterFailures() {
+        return stopAfterFailures;
+    }
+
     /**
      * Parses the arguments.
      *
@@ -76,6 +124,41 @@ class JUnitCommandLineParseResult {
                     }
 
                     filterSpecs.add(filterSpec);
+                } else if (arg.startsWith("--shard=") || arg.equals("--shard")) {
+                    String shardSpec;
+                    if (arg.equals("--shard")) {
+                        ++i;
+
+                        if (i < args.length) {
+                            shardSpec = args[i];
+                        } else {
+                            parserErrors.add(new CommandLineParserError(arg + " value not specified"));
+                            break;
+                        }
+                    } else {
+                        shardSpec = arg.substring(arg.indexOf('=') + 1);
+                    }
+
+                    try {
+                        shard = ShardFilter.byHash(shardSpec);
+                    } catch (IllegalArgumentException e) {
+                        parserErrors.add(new CommandLineParserError(e.getMessage()));
+                    }
+                } else if (arg.startsWith("--shard-durations=")) {
+                    shardDurations = new File(arg.substring(arg.indexOf('=') + 1));
+                } else if (arg.startsWith("--failures-first=")) {
+                    failuresFirst = new File(arg.substring(arg.indexOf('=') + 1));
+                } else if (arg.startsWith("--stop-after-failures=")) {
+                    String value = arg.substring(arg.indexOf('=') + 1);
+                    try {
+                        stopAfterFailures = Integer.parseInt(value);
+                    } catch (NumberFormatException e) {
+                        stopAfterFailures = 0;
+                    }
+                    if (stopAfterFailures < 1) {
+                        parserErrors.add(new CommandLineParserError(
+                                "--stop-after-failures must be a positive number, but was " + value));
+                    }
                 } else {
                     parserErrors.add(new CommandLineParserError("JUnit knows nothing about the " + arg + " option"));
                 }
@@ -115,10 +198,12 @@ class JUnitCommandLineParseResult {
      * @param computer {@link Computer} to be used.
      */
     public Request createRequest(Computer computer) {
+        readShardDurations();
         if (parserErrors.isEmpty()) {
             Request request = Request.classes(
                     computer, classes.toArray(new Class<?>[classes.size()]));
-            return applyFilterSpecs(request);
+            return applyStopAfterFailures(applyFailuresFirst(
+                    applyShard(applyFilterSpecs(request))));
         } else {
             return errorReport(new InitializationError(parserErrors));
         }
@@ -139,6 +224,48 @@ class JUnitCommandLineParseResult {
         }
     }
 
+    private void readShardDurations() {
+        if (shardDurations == null || testDurations != null) {
+            return;
+        }
+        if (shard == null) {
+            parserErrors.add(new CommandLineParserError(
+                    "--shard-durations requires --shard"));
+            return;
+        }
+        try {
+            testDurations = MaxHistory.readTestDurations(shardDurations);
+        } catch (CouldNotReadCoreException e) {
+            parserErrors.add(new IllegalArgumentException(
+                    "Could not read shard durations from " + shardDurations, e.getCause()));
+        }
+    }
+
+    private Request applyShard(Request request) {
+        if (shard == null) {
+            return request;
+        }
+        if (testDurations == null) {
+            return request.filterWith(shard);
+        }
+        // The partition is computed from the runner that is filtered, so the
+        // tests are only discovered once.
+        Runner runner = request.getRunner();
+        return Request.runner(runner).filterWith(ShardFilter.byDuration(
+                shard.getShard(), shard.getShardCount(), runner.getDescription(),
+                testDurations));
+    }
+
+    private Request applyFailuresFirst(Request request) {
+        loadFailuresFirstHistory();
+        return failuresFirstComparator == null
+                ? request : request.sortWith(failuresFirstComparator);
+    }
+
+    private Request applyStopAfterFailures(Request request) {
+        return stopAfterFailures == 0 ? request : request.stopAfterFailures(stopAfterFailures);
+    }
+
     /**
      * Exception used if there's a problem parsing the command line.
      */
@@ -79,13 +79,38 @@ public void apply(Object child) throws NoTestsRemainException {
     }
 */
 public class JUnitCore {
-    private final RunNotifier notifier = new RunNotifier();
+    private final RunNotifier notifier;
+
+    public JUnitCore() {
+        this(new RunNotifier());
+    }
+
+    private JUnitCore(RunNotifier notifier) {
+        this.notifier = notifier;
+    }
+
+    /**
+     * Creates a {@code JUnitCore} whose listeners are notified on separate
+     * threads, unless they are annotated with
+     * {@link org.junit.runner.notification.RunListener.ThreadSafe}.
+     *
+     * @see RunNotifier#withAsynchronousListeners()
+     * @since 4.13
+     */
+    public static JUnitCore withAsynchronousListeners() {
+        return new JUnitCore(RunNotifier.withAsynchronousListeners());
+    }
 
     /**
      * Run the tests contained in the classes named in the <code>args</code>.
      * If all tests run successfully, exit with a status of 0. Otherwise exit with a status of 1.
      * Write feedback while tests are running and write
      * stack traces for all failed tests after the tests all complete.
+     * <p>
+     * With <code>--failures-first=FILE</code>, new and recently failed tests run
+     * first, according to the history in <code>FILE</code>, and the history is
+     * updated. With <code>--stop-after-failures=N</code>,
+     * no more tests are started after <code>N</code> tests failed.
      *
      * @param args names of classes in which to find tests to run
      */
@@ -130,6 +155,10 @@ public class JUnitCore {
 
         RunListener listener = new TextListener(system);
         addListener(listener);
+        RunListener historyListener = jUnitCommandLineParseResult.getFailuresFirstListener();
+        if (historyListener != null) {
+            addListener(historyListener);
+        }
 
         return run(jUnitCommandLineParseResult.createRequest(defaultComputer()));
     }
@@ -185,11 +214,28 @@ public class JUnitCore {
         return run(new JUnit38ClassRunner(test));
     }
 
+    /**
+     * Run all the tests contained in <code>request</code> and collect the
+     * outcome in <code>result</code>, for example a
+     * {@link Result#streaming(java.io.File, int) streaming} result.
+     *
+     * @param request the request describing tests
+     * @param result the result to add the outcome of the tests to
+     * @return <code>result</code>
+     * @since 4.13
+     */
+    public Result run(Request request, Result result) {
+        return run(request.getRunner(), result);
+    }
+
     /**
      * Do not use. Testing purposes only.
      */
     public Result run(Runner runner) {
-        Result result = new Result();
+        return run(runner, new Result());
+    }
+
+    private Result run(Runner runner, Result result) {
         //利用Result类中的内部类创建一个listener来获取执行结果，result只关心runner的执行状态
         //而不关心runner执行的具体任务及任务结果，所以这里直接使用listener解耦了runner的执行和创建执行结果的过程
         RunListener listener = result.createListener();
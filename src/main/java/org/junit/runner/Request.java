@@ -6,6 +6,7 @@ import org.junit.internal.builders.AllDefaultPossibilitiesBuilder;
 import org.junit.internal.requests.ClassRequest;
 import org.junit.internal.requests.FilterRequest;
 import org.junit.internal.requests.SortingRequest;
+import org.junit.internal.requests.StopAfterFailuresRequest;
 import org.junit.internal.runners.ErrorReportingRunner;
 import org.junit.runner.manipulation.Filter;
 import org.junit.runners.model.InitializationError;
@@ -173,4 +174,22 @@ public abstract class Request {
     public Request sortWith(Comparator<Description> comparator) {
         return new SortingRequest(this, comparator);
     }
+
+    /**
+     * Returns a Request that does not start any more tests once
+     * <code>maxFailures</code> tests have failed. The tests that are not
+     * started are not reported. The run is stopped with
+     * {@link org.junit.runner.notification.RunNotifier#pleaseStop()} on a
+     * notifier of its own, so the {@link JUnitCore} can be used for later
+     * runs.
+     *
+     * @param maxFailures the number of failures after which to stop
+     * @return a Request that stops after <code>maxFailures</code> failures
+     * @throws IllegalArgumentException if <code>maxFailures</code> is not
+     * positive
+     * @since 4.13
+     */
+    public Request stopAfterFailures(int maxFailures) {
+        return new StopAfterFailuresRequest(this, maxFailures);
+    }
 }
@@ -1,5 +1,6 @@
 package org.junit.runner;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
@@ -31,6 +32,8 @@ public class Result implements Serializable {
     private final CopyOnWriteArrayList<Failure> failures;
     private final AtomicLong runTime;
     private final AtomicLong startTime;
+    private final FailureLog failureLog;
+    private final int maxFailureSamples;
 
     /** Only set during deserialization process. */
     private SerializedForm serializedForm;
@@ -41,6 +44,41 @@ public class Result implements Serializable {
         failures = new CopyOnWriteArrayList<Failure>();
         runTime = new AtomicLong();
         startTime = new AtomicLong();
+        failureLog = null;
+        maxFailureSamples = Integer.MAX_VALUE;
+    }
+
+    private Result(File failureLog, int maxFailureSamples) {
+        if (maxFailureSamples < 1) {
+            throw new IllegalArgumentException(
+                    "maxFailureSamples must be positive, but was " + maxFailureSamples);
+        }
+        count = new AtomicInteger();
+        ignoreCount = new AtomicInteger();
+        failures = new CopyOnWriteArrayList<Failure>();
+        runTime = new AtomicLong();
+        startTime = new AtomicLong();
+        this.failureLog = new FailureLog(failureLog);
+        this.maxFailureSamples = maxFailureSamples;
+    }
+
+    /**
+     * Creates a {@code Result} for very large runs, whose memory use does not
+     * grow with the number of failures. It keeps the first
+     * {@code maxFailureSamples} failures in memory and writes all failures to
+     * {@code failureLog} while the tests run. {@link #getFailures()} returns
+     * the failures kept in memory, {@link #getAllFailures()} reads all of them
+     * from the file. A serialized streaming {@code Result} only contains the
+     * failures kept in memory.
+     *
+     * @param failureLog the file the failures are written to; it is
+     * overwritten
+     * @param maxFailureSamples the number of failures to keep in memory
+     * @see JUnitCore#run(Request, Result)
+     * @since 4.13
+     */
+    public static Result streaming(File failureLog, int maxFailureSamples) {
+        return new Result(failureLog, maxFailureSamples);
     }
 
     private Result(SerializedForm serializedForm) {
@@ -49,6 +87,8 @@ public class Result implements Serializable {
         failures = new CopyOnWriteArrayList<Failure>(serializedForm.fFailures);
         runTime = new AtomicLong(serializedForm.fRunTime);
         startTime = new AtomicLong(serializedForm.fStartTime);
+        failureLog = null;
+        maxFailureSamples = Integer.MAX_VALUE;
     }
 
     /**
@@ -62,7 +102,7 @@ public class Result implements Serializable {
      * @return the number of tests that failed during the run
      */
     public int getFailureCount() {
-        return failures.size();
+        return failureLog == null ? failures.size() : failureLog.size();
     }
 
     /**
@@ -73,12 +113,27 @@ public class Result implements Serializable {
     }
 
     /**
-     * @return the {@link Failure}s describing tests that failed and the problems they encountered
+     * @return the {@link Failure}s describing tests that failed and the problems they encountered.
+     * For a {@link #streaming(File, int) streaming} result only the first failures.
      */
     public List<Failure> getFailures() {
         return failures;
     }
 
+    /**
+     * Returns all {@link Failure}s. For a {@link #streaming(File, int) streaming}
+     * result they are read from the failure log one at a time, and their
+     * descriptions and exceptions only keep what was written to the log: the
+     * display name of the test and the class name, message and trimmed stack
+     * trace of the exception. Otherwise the same failures as
+     * {@link #getFailures()} are returned.
+     *
+     * @since 4.13
+     */
+    public Iterable<Failure> getAllFailures() {
+        return failureLog == null ? failures : failureLog;
+    }
+
     /**
      * @return the number of tests ignored during the run
      */
@@ -118,6 +173,9 @@ public class Result implements Serializable {
         public void testRunFinished(Result result) throws Exception {
             long endTime = System.currentTimeMillis();
             runTime.addAndGet(endTime - startTime.get());
+            if (failureLog != null) {
+                failureLog.close();
+            }
         }
 
         @Override
@@ -127,7 +185,9 @@ public class Result implements Serializable {
 
         @Override
         public void testFailure(Failure failure) throws Exception {
-            failures.add(failure);
+            if (failureLog == null || failureLog.append(failure) <= maxFailureSamples) {
+                failures.add(failure);
+            }
         }
 
         @Override
@@ -0,0 +1,225 @@
+package org.junit.runner.manipulation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.runner.Description;
+
+/**
+ * A {@link Filter} that runs one of several shards of a suite, so that the
+ * suite can be split across JVMs or machines. Every test belongs to exactly one
+ * shard (see {@link #shardOf(Description)}), and the assignment only depends on
+ * the display names of the tests, so all JVMs that run the same suite agree on
+ * it without talking to each other.
+ *
+ * <p>Shards are numbered from {@code 1} to {@code shardCount}. From the command
+ * line, run the third of sixteen shards with
+ * <pre>
+ * java org.junit.runner.JUnitCore --shard=3/16 classes...
+ * </pre>
+ *
+ * @since 4.13
+ */
+public final class ShardFilter extends Filter {
+    private final int shard;
+
+    private final int shardCount;
+
+    private final Map<String, Integer> assignments;
+
+    private ShardFilter(int shard, int shardCount, Map<String, Integer> assignments) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException(
+                    "shardCount must be positive, but was " + shardCount);
+        }
+        if (shard < 1 || shard > shardCount) {
+            throw new IllegalArgumentException("shard must be between 1 and "
+                    + shardCount + ", but was " + shard);
+        }
+        this.shard = shard;
+        this.shardCount = shardCount;
+        this.assignments = assignments;
+    }
+
+    /**
+     * Returns a filter that assigns tests to shards by a hash of their display
+     * names. Shards have roughly the same number of tests.
+     *
+     * @param shard the shard to run, from {@code 1} to {@code shardCount}
+     * @param shardCount the number of shards
+     */
+    public static ShardFilter byHash(int shard, int shardCount) {
+        return new ShardFilter(shard, shardCount, Collections.<String, Integer>emptyMap());
+    }
+
+    /**
+     * Returns a filter that assigns the tests of {@code suite} to shards so
+     * that all shards take roughly the same time. The tests are distributed
+     * longest first, each one to the shard with the least total duration so far.
+     * Tests without a recorded duration are assumed to take the median duration
+     * of the tests with one. Tests that are not part of {@code suite} are
+     * assigned by hash, as by {@link #byHash(int, int)}.
+     *
+     * <p>All JVMs must use the same durations to agree on the assignment, for
+     * example by sharing the file of a
+     * {@link org.junit.experimental.max.MaxHistory}.
+     *
+     * @param shard the shard to run, from {@code 1} to {@code shardCount}
+     * @param shardCount the number of shards
+     * @param suite the description of the suite that is split
+     * @param durations the recorded durations of the tests, by display name
+     */
+    public static ShardFilter byDuration(int shard, int shardCount,
+            Description suite, Map<String, Long> durations) {
+        return new ShardFilter(shard, shardCount,
+                balance(shardCount, suite, durations));
+    }
+
+    /**
+     * Returns a filter for a shard specification of the form
+     * {@code shard/shardCount}, for example {@code 3/16}. Tests are assigned
+     * by hash, as by {@link #byHash(int, int)}.
+     *
+     * @throws IllegalArgumentException if the specification is malformed
+     */
+    public static ShardFilter byHash(String spec) {
+        int slash = spec.indexOf('/');
+        if (slash < 0) {
+            throw new IllegalArgumentException(
+                    "Shard must have the form shard/shardCount, but was " + spec);
+        }
+        try {
+            return byHash(Integer.parseInt(spec.substring(0, slash).trim()),
+                    Integer.parseInt(spec.substring(slash + 1).trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(
+                    "Shard must have the form shard/shardCount, but was " + spec);
+        }
+    }
+
+    /**
+     * Returns the shard this filter runs, from {@code 1} to
+     * {@link #getShardCount()}.
+     */
+    public int getShard() {
+        return shard;
+    }
+
+    /**
+     * Returns the number of shards.
+     */
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Returns the shard the test described by {@code test} belongs to, from
+     * {@code 1} to {@link #getShardCount()}.
+     */
+    public int shardOf(Description test) {
+        Integer assigned = assignments.get(test.getDisplayName());
+        return assigned != null ? assigned : hashShard(test.getDisplayName(), shardCount);
+    }
+
+    @Override
+    public boolean shouldRun(Description description) {
+        if (description.isTest()) {
+            return shardOf(description) == shard;
+        }
+        for (Description each : description.getChildren()) {
+            if (shouldRun(each)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String describe() {
+        return "shard " + shard + " of " + shardCount;
+    }
+
+    /**
+     * Maps {@code displayName} to a shard. {@link String#hashCode()} is
+     * specified, so the result is the same on every JVM; the bits are mixed
+     * because similar names tend to have similar hash codes.
+     */
+    static int hashShard(String displayName, int shardCount) {
+        int h = displayName.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return (h & Integer.MAX_VALUE) % shardCount + 1;
+    }
+
+    private static Map<String, Integer> balance(int shardCount,
+            Description suite, Map<String, Long> durations) {
+        Map<String, Long> tests = new LinkedHashMap<String, Long>();
+        List<Long> known = new ArrayList<Long>();
+        collectTests(suite, durations, tests, known);
+        Long defaultDuration = median(known);
+        List<Map.Entry<String, Long>> longestFirst =
+                new ArrayList<Map.Entry<String, Long>>(tests.entrySet());
+        for (Map.Entry<String, Long> each : longestFirst) {
+            if (each.getValue() == null) {
+                each.setValue(defaultDuration);
+            }
+        }
+        // Ties are broken by name, so the order does not depend on the suite.
+        Collections.sort(longestFirst, new Comparator<Map.Entry<String, Long>>() {
+            public int compare(Map.Entry<String, Long> o1, Map.Entry<String, Long> o2) {
+                int byDuration = o2.getValue().compareTo(o1.getValue());
+                return byDuration != 0 ? byDuration : o1.getKey().compareTo(o2.getKey());
+            }
+        });
+
+        long[] loads = new long[shardCount];
+        int[] sizes = new int[shardCount];
+        Map<String, Integer> assignments = new HashMap<String, Integer>();
+        for (Map.Entry<String, Long> each : longestFirst) {
+            int lightest = 0;
+            for (int i = 1; i < shardCount; i++) {
+                if (loads[i] < loads[lightest]
+                        || (loads[i] == loads[lightest] && sizes[i] < sizes[lightest])) {
+                    lightest = i;
+                }
+            }
+            loads[lightest] += each.getValue();
+            sizes[lightest]++;
+            assignments.put(each.getKey(), lightest + 1);
+        }
+        return assignments;
+    }
+
+    private static void collectTests(Description description,
+            Map<String, Long> durations, Map<String, Long> tests, List<Long> known) {
+        if (description.isTest()) {
+            String name = description.getDisplayName();
+            if (!tests.containsKey(name)) {
+                Long duration = durations.get(name);
+                if (duration != null) {
+                    known.add(duration);
+                }
+                tests.put(name, duration);
+            }
+        }
+        for (Description each : description.getChildren()) {
+            collectTests(each, durations, tests, known);
+        }
+    }
+
+    private static Long median(List<Long> durations) {
+        if (durations.isEmpty()) {
+            return 0L;
+        }
+        Collections.sort(durations);
+        return durations.get(durations.size() / 2);
+    }
+}
@@ -0,0 +1,266 @@
+package org.junit.runner.notification;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.runner.Description;
+import org.junit.runner.Result;
+
+/**
+ * Decorator for {@link RunListener} implementations that hands every event to
+ * a dedicated thread instead of calling the delegate on the test thread.
+ *
+ * <p>Events are put into a bounded {@link MpscRingBuffer} and delivered to the
+ * delegate in the order they were fired. A test thread only waits if the
+ * buffer is full. {@link #testRunFinished(Result)} waits until all earlier
+ * events have been delivered, so the delegate has seen the whole run when
+ * {@link RunNotifier#fireTestRunFinished(Result)} returns.
+ *
+ * <p>The dispatching thread is started on demand and ends after being idle
+ * for a while, so no thread is left behind once the run has finished.
+ *
+ * @since 4.13
+ * @see RunNotifier#withAsynchronousListeners()
+ */
+@RunListener.ThreadSafe
+final class AsynchronousRunListener extends RunListener {
+    static final int DEFAULT_CAPACITY = 1024;
+
+    private static final long IDLE_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+    private final RunListener listener;
+    private final RunNotifier notifier;
+    private final MpscRingBuffer<Event> events;
+    private final AtomicBoolean dispatching = new AtomicBoolean();
+    private volatile Thread dispatcher;
+    private volatile boolean parked;
+
+    AsynchronousRunListener(RunListener listener, RunNotifier notifier, int capacity) {
+        this.listener = listener;
+        this.notifier = notifier;
+        this.events = new MpscRingBuffer<Event>(capacity);
+    }
+
+    private abstract static class Event {
+        abstract void dispatch(RunListener listener) throws Exception;
+    }
+
+    private static final class RunFinished extends Event {
+        private final Result result;
+        private final CountDownLatch delivered = new CountDownLatch(1);
+        private Exception failure;
+
+        RunFinished(Result result) {
+            this.result = result;
+        }
+
+        @Override
+        void dispatch(RunListener listener) throws Exception {
+            try {
+                listener.testRunFinished(result);
+            } catch (Exception e) {
+                failure = e;
+            } finally {
+                delivered.countDown();
+            }
+        }
+    }
+
+    @Override
+    public void testRunStarted(final Description description) throws Exception {
+        enqueue(new Event() {
+            @Override
+            void dispatch(RunListener listener) throws Exception {
+                listener.testRunStarted(description);
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Waits until the delegate has received this and all earlier events.
+     * Exceptions thrown by the delegate's {@code testRunFinished} are
+     * rethrown on the calling thread.
+     */
+    @Override
+    public void testRunFinished(Result result) throws Exception {
+        RunFinished event = new RunFinished(result);
+        enqueue(event);
+        boolean interrupted = false;
+        while (true) {
+            try {
+                event.delivered.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (event.failure != null) {
+            throw event.failure;
+        }
+    }
+
+    @Override
+    public void testSuiteStarted(final Description description) throws Exception {
+        enqueue(new Event() {
+            @Override
+            void dispatch(RunListener listener) throws Exception {
+                listener.testSuiteStarted(description);
+            }
+        });
+    }
+
+    @Override
+    public void testSuiteFinished(final Description description) throws Exception {
+        enqueue(new Event() {
+            @Override
+            void dispatch(RunListener listener) throws Exception {
+                listener.testSuiteFinished(description);
+            }
+        });
+    }
+
+    @Override
+    public void testStarted(final Description description) throws Exception {
+        enqueue(new Event() {
+            @Override
+            void dispatch(RunListener listener) throws Exception {
+                listener.testStarted(description);
+            }
+        });
+    }
+
+    @Override
+    public void testFinished(final Description description) throws Exception {
+        enqueue(new Event() {
+            @Override
+            void dispatch(RunListener listener) throws Exception {
+                listener.testFinished(description);
+            }
+        });
+    }
+
+    @Override
+    public void testFailure(final Failure failure) throws Exception {
+        enqueue(new Event() {
+            @Override
+            void dispatch(RunListener listener) throws Exception {
+                listener.testFailure(failure);
+            }
+        });
+    }
+
+    @Override
+    public void testAssumptionFailure(final Failure failure) {
+        enqueue(new Event() {
+            @Override
+            void dispatch(RunListener listener) throws Exception {
+                listener.testAssumptionFailure(failure);
+            }
+        });
+    }
+
+    @Override
+    public void testIgnored(final Description description) throws Exception {
+        enqueue(new Event() {
+            @Override
+            void dispatch(RunListener listener) throws Exception {
+                listener.testIgnored(description);
+            }
+        });
+    }
+
+    private void enqueue(Event event) {
+        while (!events.offer(event)) {
+            // The buffer is full: make sure the dispatcher runs and back off.
+            wakeUpDispatcher();
+            Thread.yield();
+        }
+        wakeUpDispatcher();
+    }
+
+    private void wakeUpDispatcher() {
+        Thread current = dispatcher;
+        if (current != null) {
+            if (parked) {
+                LockSupport.unpark(current);
+            }
+        } else if (dispatching.compareAndSet(false, true)) {
+            Thread thread = new Thread(new Dispatcher(),
+                    "RunListener-dispatcher-" + THREAD_NUMBER.incrementAndGet());
+            thread.setDaemon(true);
+            dispatcher = thread;
+            thread.start();
+        }
+    }
+
+    private void deliver(Event event) {
+        try {
+            event.dispatch(listener);
+        } catch (Exception e) {
+            notifier.fireListenerFailure(this, new Failure(Description.TEST_MECHANISM, e));
+        }
+    }
+
+    private final class Dispatcher implements Runnable {
+        public void run() {
+            while (true) {
+                Event event;
+                while ((event = events.poll()) != null) {
+                    deliver(event);
+                }
+                parked = true;
+                if (events.isEmpty()) {
+                    LockSupport.parkNanos(IDLE_NANOS);
+                }
+                parked = false;
+                if (events.isEmpty() && !continueAfterIdle()) {
+                    return;
+                }
+            }
+        }
+
+        private boolean continueAfterIdle() {
+            dispatcher = null;
+            dispatching.set(false);
+            // An event may have been added after the last check, while the
+            // producer still saw this thread as the dispatcher.
+            if (!events.isEmpty() && dispatching.compareAndSet(false, true)) {
+                dispatcher = Thread.currentThread();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return listener.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof AsynchronousRunListener)) {
+            return false;
+        }
+        AsynchronousRunListener that = (AsynchronousRunListener) other;
+
+        return listener.equals(that.listener);
+    }
+
+    @Override
+    public String toString() {
+        return listener.toString() + " (with asynchronous wrapper)";
+    }
+}
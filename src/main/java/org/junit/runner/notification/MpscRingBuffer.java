@@ -0,0 +1,95 @@
+package org.junit.runner.notification;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free queue for many producers and a single consumer.
+ *
+ * <p>Every slot carries a sequence number. A producer claims a position with
+ * a CAS on {@code tail} and publishes its element by advancing the slot's
+ * sequence; the consumer only reads slots whose sequence says they have been
+ * published, so it never needs a CAS itself.
+ *
+ * @since 4.13
+ */
+final class MpscRingBuffer<E> {
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+
+    // Only accessed by the consumer
+    private long head;
+
+    MpscRingBuffer(int minimumCapacity) {
+        if (minimumCapacity < 1) {
+            throw new IllegalArgumentException(
+                    "capacity must be positive, but was " + minimumCapacity);
+        }
+        // A published slot and a free slot one lap later would look the same
+        // with a single slot, so the buffer always has at least two.
+        int capacity = 2;
+        while (capacity < minimumCapacity) {
+            capacity <<= 1;
+        }
+        elements = new AtomicReferenceArray<E>(capacity);
+        sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        mask = capacity - 1;
+    }
+
+    /**
+     * Adds the element if there is space left.
+     *
+     * @return {@code false} if the buffer is full
+     */
+    boolean offer(E element) {
+        long position;
+        int index;
+        for (;;) {
+            position = tail.get();
+            index = (int) (position & mask);
+            long available = sequences.get(index) - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (available < 0) {
+                return false;
+            }
+        }
+        elements.set(index, element);
+        sequences.set(index, position + 1);
+        return true;
+    }
+
+    /**
+     * Removes the oldest published element. Must only be called by the
+     * consumer thread.
+     *
+     * @return the element, or {@code null} if the buffer is empty
+     */
+    E poll() {
+        int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        E element = elements.get(index);
+        elements.set(index, null);
+        sequences.set(index, head + mask + 1);
+        head++;
+        return element;
+    }
+
+    /**
+     * Returns {@code true} if no element has been published since the last
+     * {@link #poll()}. Must only be called by the consumer thread.
+     */
+    boolean isEmpty() {
+        return sequences.get((int) (head & mask)) != head + 1;
+    }
+}
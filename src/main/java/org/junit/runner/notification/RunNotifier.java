@@ -25,6 +25,30 @@ addListener中的wrapIfNotThreadSafe
 public class RunNotifier {
     private final List<RunListener> listeners = new CopyOnWriteArrayList<RunListener>();
     private volatile boolean pleaseStop = false;
+    private final int asynchronousCapacity;
+
+    public RunNotifier() {
+        this(0);
+    }
+
+    private RunNotifier(int asynchronousCapacity) {
+        this.asynchronousCapacity = asynchronousCapacity;
+    }
+
+    /**
+     * Creates a notifier that delivers events to listeners which are not
+     * annotated with {@link RunListener.ThreadSafe} on a separate thread per
+     * listener, so a slow listener does not hold up the tests. Each listener
+     * still receives its events one at a time and in the order they were
+     * fired. {@link #fireTestRunFinished(Result)} returns only after every
+     * listener has received all events of the run. Thread-safe listeners are
+     * called directly, as usual.
+     *
+     * @since 4.13
+     */
+    public static RunNotifier withAsynchronousListeners() {
+        return new RunNotifier(AsynchronousRunListener.DEFAULT_CAPACITY);
+    }
 
     /**
      * Internal use only
@@ -48,11 +72,18 @@ public class RunNotifier {
 
     /**
      * Wraps the given listener with {@link SynchronizedRunListener} if
-     * it is not annotated with {@link RunListener.ThreadSafe}.
+     * it is not annotated with {@link RunListener.ThreadSafe}. For a notifier
+     * with asynchronous listeners, the synchronized listener is in addition
+     * wrapped with {@link AsynchronousRunListener}.
      */
     RunListener wrapIfNotThreadSafe(RunListener listener) {
-        return listener.getClass().isAnnotationPresent(RunListener.ThreadSafe.class) ?
-                listener : new SynchronizedRunListener(listener, this);
+        if (listener.getClass().isAnnotationPresent(RunListener.ThreadSafe.class)) {
+            return listener;
+        }
+        RunListener synchronizedListener = new SynchronizedRunListener(listener, this);
+        return asynchronousCapacity > 0
+                ? new AsynchronousRunListener(synchronizedListener, this, asynchronousCapacity)
+                : synchronizedListener;
     }
 
     //该类抽象了遍历listeners的过程，只要实现notifyListener即可通知所有的listeners
@@ -171,6 +202,17 @@ public class RunNotifier {
         fireTestFailures(listeners, asList(failure));
     }
 
+    /**
+     * Tells all listeners but {@code failedListener} that
+     * {@code failedListener} threw an exception while it was notified
+     * asynchronously.
+     */
+    void fireListenerFailure(RunListener failedListener, Failure failure) {
+        List<RunListener> otherListeners = new ArrayList<RunListener>(listeners);
+        otherListeners.remove(failedListener);
+        fireTestFailures(otherListeners, asList(failure));
+    }
+
     private void fireTestFailures(List<RunListener> listeners,
             final List<Failure> failures) {
         if (!failures.isEmpty()) {
@@ -0,0 +1,277 @@
+package org.junit.runners;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runner.notification.StoppedByUserException;
+
+/**
+ * Runs the runners of the sets of parameters of a {@link Parameterized} test
+ * on a bounded pool, while reporting their events in the order in which the
+ * runners were submitted. Each runner runs entirely on one thread, so
+ * {@code @BeforeParam} and {@code @AfterParam} methods run on the thread of
+ * their tests.
+ * <p>
+ * The events of the oldest unreported runner are passed on as they happen.
+ * The events of the other runners are buffered and passed on when all runners
+ * submitted before them have finished. Buffered events therefore reach the
+ * listeners on another thread than the one that ran the test, and without
+ * the delays between them.
+ */
+final class ParallelRows {
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+
+    private final RunNotifier notifier;
+
+    private final ExecutorService executor;
+
+    private final int maxRowsInFlight;
+
+    private final LinkedList<Row> unreported = new LinkedList<Row>(); // guarded by this
+
+    private boolean stopped; // guarded by this
+
+    ParallelRows(RunNotifier notifier, int parallelism) {
+        this.notifier = notifier;
+        this.maxRowsInFlight = 2 * parallelism;
+        final int poolNumber = POOL_NUMBER.incrementAndGet();
+        executor = Executors.newFixedThreadPool(parallelism, new ThreadFactory() {
+            private final AtomicInteger threadNumber = new AtomicInteger();
+
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "Parameterized-" + poolNumber
+                        + "-row-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Runs {@code runner} on the pool. Waits while too many runners have not
+     * been reported yet.
+     */
+    void submit(Runner runner) {
+        Row row = new Row(runner);
+        synchronized (this) {
+            try {
+                while (unreported.size() >= maxRowsInFlight && !stopped) {
+                    wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stop();
+            }
+            if (stopped) {
+                return;
+            }
+            unreported.add(row);
+            if (unreported.size() == 1) {
+                row.goLive();
+            }
+        }
+        executor.execute(row);
+    }
+
+    /**
+     * Waits until the events of all submitted runners have been reported.
+     *
+     * @throws StoppedByUserException if a listener requested to stop
+     */
+    void finish() {
+        try {
+            synchronized (this) {
+                while (!unreported.isEmpty()) {
+                    wait();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stop();
+        } finally {
+            executor.shutdown();
+        }
+        synchronized (this) {
+            if (stopped) {
+                throw new StoppedByUserException();
+            }
+        }
+    }
+
+    private synchronized void finished(Row row) {
+        row.finished = true;
+        while (!unreported.isEmpty() && unreported.getFirst().finished) {
+            unreported.removeFirst();
+            if (!unreported.isEmpty()) {
+                unreported.getFirst().goLive();
+            }
+        }
+        notifyAll();
+    }
+
+    private synchronized void stop() {
+        stopped = true;
+        for (Row each : unreported) {
+            each.rowNotifier.pleaseStop();
+        }
+        notifyAll();
+    }
+
+    /**
+     * A runner and the events that it has not reported yet.
+     */
+    @RunListener.ThreadSafe
+    private final class Row extends RunListener implements Runnable {
+        private final Runner runner;
+
+        private final RunNotifier rowNotifier = new RunNotifier();
+
+        private final List<Event> buffer = new ArrayList<Event>(); // guarded by this
+
+        private boolean live; // guarded by this
+
+        private boolean finished; // guarded by ParallelRows.this
+
+        Row(Runner runner) {
+            this.runner = runner;
+            rowNotifier.addListener(this);
+        }
+
+        public void run() {
+            try {
+                runner.run(rowNotifier);
+            } catch (StoppedByUserException e) {
+                stop();
+            } catch (Throwable e) {
+                rowNotifier.fireTestFailure(new Failure(runner.getDescription(), e));
+            } finally {
+                finished(this);
+            }
+        }
+
+        /**
+         * Reports the buffered events and the following events as they
+         * happen. Called while holding the lock of {@link ParallelRows}.
+         */
+        synchronized void goLive() {
+            live = true;
+            for (Event each : buffer) {
+                if (!deliver(each)) {
+                    stop();
+                    break;
+                }
+            }
+            buffer.clear();
+        }
+
+        private void add(Event event) {
+            synchronized (this) {
+                if (!live) {
+                    buffer.add(event);
+                    return;
+                }
+                if (deliver(event)) {
+                    return;
+                }
+            }
+            // Not holding the lock of the row, which goLive() takes second.
+            stop();
+        }
+
+        /**
+         * Returns {@code false} if a listener requested to stop.
+         */
+        private boolean deliver(Event event) {
+            try {
+                event.fire(notifier);
+                return true;
+            } catch (StoppedByUserException e) {
+                return false;
+            }
+        }
+
+        @Override
+        public void testSuiteStarted(final Description description) {
+            add(new Event() {
+                @Override
+                void fire(RunNotifier notifier) {
+                    notifier.fireTestSuiteStarted(description);
+                }
+            });
+        }
+
+        @Override
+        public void testSuiteFinished(final Description description) {
+            add(new Event() {
+                @Override
+                void fire(RunNotifier notifier) {
+                    notifier.fireTestSuiteFinished(description);
+                }
+            });
+        }
+
+        @Override
+        public void testStarted(final Description description) {
+            add(new Event() {
+                @Override
+                void fire(RunNotifier notifier) {
+                    notifier.fireTestStarted(description);
+                }
+            });
+        }
+
+        @Override
+        public void testFinished(final Description description) {
+            add(new Event() {
+                @Override
+                void fire(RunNotifier notifier) {
+                    notifier.fireTestFinished(description);
+                }
+            });
+        }
+
+        @Override
+        public void testFailure(final Failure failure) {
+            add(new Event() {
+                @Override
+                void fire(RunNotifier notifier) {
+                    notifier.fireTestFailure(failure);
+                }
+            });
+        }
+
+        @Override
+        public void testAssumptionFailure(final Failure failure) {
+            add(new Event() {
+                @Override
+                void fire(RunNotifier notifier) {
+                    notifier.fireTestAssumptionFailed(failure);
+                }
+            });
+        }
+
+        @Override
+        public void testIgnored(final Description description) {
+            add(new Event() {
+                @Override
+                void fire(RunNotifier notifier) {
+                    notifier.fireTestIgnored(description);
+                }
+            });
+        }
+    }
+
+    private abstract static class Event {
+        abstract void fire(RunNotifier notifier);
+    }
+}
@@ -11,16 +11,23 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
 import org.junit.internal.AssumptionViolatedException;
+import org.junit.internal.runners.ErrorReportingRunner;
 import org.junit.runner.Description;
 import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.manipulation.Sorter;
 import org.junit.runner.notification.Failure;
 import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.model.FrameworkMethod;
 import org.junit.runners.model.InvalidTestClassError;
+import org.junit.runners.model.Statement;
 import org.junit.runners.model.TestClass;
+import org.junit.runners.model.TestClassCache;
 import org.junit.runners.parameterized.BlockJUnit4ClassRunnerWithParametersFactory;
 import org.junit.runners.parameterized.ParametersRunnerFactory;
 import org.junit.runners.parameterized.TestWithParameters;
@@ -141,6 +148,57 @@ import org.junit.runners.parameterized.TestWithParameters;
  * }
  * </pre>
  *
+ * <h3>Streaming parameters</h3>
+ * <p>
+ * By default all parameters are read and a runner is created for each set of
+ * parameters before the first test runs. For large data sets, set
+ * {@link Parameters#streaming() streaming} to read the parameters while the
+ * tests run. The parameters method may then return an {@link Iterator}, too,
+ * and a runner exists only while the tests of its parameters run.
+ * <pre>
+ * &#064;Parameters(streaming = true)
+ * public static Iterator&lt;Object[]&gt; data() throws IOException {
+ *     return new CsvReader(&quot;data.csv&quot;).iterator();
+ * }
+ * </pre>
+ * <p>
+ * Because the parameters are not known in advance, a streaming
+ * {@code Parameterized} runner behaves differently:
+ * <ul>
+ * <li>Its {@link #getDescription() description} has no children, so it
+ * counts as a single test. The descriptions of the tests are reported to the
+ * listeners when the tests run.</li>
+ * <li>{@link #filter(Filter) Filters} are applied to the runner of each set
+ * of parameters when it is created. Sets of parameters without remaining
+ * tests are skipped. A filter never causes a {@link NoTestsRemainException}.
+ * Enclosing suites of JUnit pass their filters on to this runner without
+ * evaluating them against its description, so a filter sees every test.</li>
+ * <li>{@link #sort(Sorter) Sorters} order the tests of each set of
+ * parameters. The sets of parameters run in the order in which they are
+ * read.</li>
+ * <li>The first set of parameters is read when the runner is created, so that
+ * {@code @BeforeParam} and {@code @AfterParam} methods can be validated.
+ * Errors while reading or creating a runner for later parameters are reported
+ * as failures of the test class.</li>
+ * <li>The runner can be run only once.</li>
+ * </ul>
+ *
+ * <h3>Running sets of parameters in parallel</h3>
+ * <p>
+ * Set {@link Parameters#parallelism() parallelism} to run the tests of
+ * several sets of parameters at the same time. The tests of one set of
+ * parameters, including its {@code @BeforeParam} and {@code @AfterParam}
+ * methods, run one after another on the same thread. The listeners receive
+ * the events in the order of the parameters: the events of a set of
+ * parameters that finishes early are held back until all sets of parameters
+ * before it have finished.
+ * <pre>
+ * &#064;Parameters(parallelism = 4)
+ * public static Iterable&lt;Object[]&gt; data() {
+ *     ...
+ * }
+ * </pre>
+ *
  * <h3>Executing code before/after executing tests for specific parameters</h3>
  * <p>
  * If your test needs to perform some preparation or cleanup based on the
@@ -214,6 +272,28 @@ public class Parameterized extends Suite {
          * @see MessageFormat
          */
         String name() default "{index}";
+
+        /**
+         * Optional flag to read the parameters while the tests run, one set of
+         * parameters at a time, instead of reading all of them before the
+         * first test runs. A streaming parameters method may also return an
+         * {@link Iterator}. See the documentation of {@link Parameterized}
+         * for how filtering and sorting work on streamed parameters.
+         *
+         * @since 4.13
+         */
+        boolean streaming() default false;
+
+        /**
+         * Optional number of sets of parameters whose tests run at the same
+         * time, each on a thread of a pool that is created for the run. The
+         * events of the tests are reported in the order of the parameters.
+         * Default value is 1, which runs the sets of parameters one after
+         * another.
+         *
+         * @since 4.13
+         */
+        int parallelism() default 1;
     }
 
     /**
@@ -287,11 +367,81 @@ public class Parameterized extends Suite {
         this(klass, new RunnersFactory(klass));
     }
 
+    private final StreamingRunner streamingRunner;
+
+    private final int parallelism;
+
     private Parameterized(Class<?> klass, RunnersFactory runnersFactory) throws Exception {
         super(klass, runnersFactory.createRunners());
+        streamingRunner = runnersFactory.streamingRunner;
+        parallelism = runnersFactory.parallelism;
         validateBeforeParamAndAfterParamMethods(runnersFactory.parameterCount);
     }
 
+    @Override
+    protected Statement childrenInvoker(final RunNotifier notifier) {
+        if (parallelism == 1 || streamingRunner != null) {
+            return super.childrenInvoker(notifier);
+        }
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                RowsNotifier rowsNotifier = new RowsNotifier(
+                        new ParallelRows(notifier, parallelism));
+                try {
+                    Parameterized.super.childrenInvoker(rowsNotifier).evaluate();
+                } finally {
+                    rowsNotifier.rows.finish();
+                }
+            }
+        };
+    }
+
+    @Override
+    protected void runChild(Runner runner, RunNotifier notifier) {
+        if (notifier instanceof RowsNotifier) {
+            ((RowsNotifier) notifier).rows.submit(runner);
+        } else {
+            super.runChild(runner, notifier);
+        }
+    }
+
+    @Override
+    public Description getDescription() {
+        if (streamingRunner == null) {
+            return super.getDescription();
+        }
+        Class<?> clazz = getTestClass().getJavaClass();
+        if (clazz == null || !clazz.getName().equals(getName())) {
+            return Description.createSuiteDescription(getName(), getRunnerAnnotations());
+        } else {
+            return Description.createSuiteDescription(clazz, getRunnerAnnotations());
+        }
+    }
+
+    @Override
+    public void filter(Filter filter) throws NoTestsRemainException {
+        if (streamingRunner == null) {
+            super.filter(filter);
+        } else {
+            streamingRunner.filter(filter);
+        }
+    }
+
+    @Override
+    boolean filtersWhileRunning() {
+        return streamingRunner != null || super.filtersWhileRunning();
+    }
+
+    @Override
+    public void sort(Sorter sorter) {
+        if (streamingRunner == null) {
+            super.sort(sorter);
+        } else {
+            streamingRunner.sort(sorter);
+        }
+    }
+
     private void validateBeforeParamAndAfterParamMethods(Integer parameterCount)
             throws InvalidTestClassError {
         List<Throwable> errors = new ArrayList<Throwable>();
@@ -341,37 +491,198 @@ public class Parameterized extends Suite {
         }
     }
 
+    /**
+     * Passed to {@link #runChild(Runner, RunNotifier)} instead of the notifier
+     * of the run when the sets of parameters run in parallel. Never fires
+     * events itself.
+     */
+    private static class RowsNotifier extends RunNotifier {
+        private final ParallelRows rows;
+
+        RowsNotifier(ParallelRows rows) {
+            this.rows = rows;
+        }
+    }
+
+    /**
+     * Reads the parameters while it runs, and creates and runs a runner for
+     * each set of parameters in turn.
+     */
+    private static class StreamingRunner extends Runner {
+        private final RunnersFactory runnersFactory;
+        private final Iterator<Object> parameters;
+        private final String namePattern;
+        private final ParametersRunnerFactory runnerFactory;
+        private final int parallelism;
+        private final List<Filter> filters = new ArrayList<Filter>();
+        private final List<Sorter> sorters = new ArrayList<Sorter>();
+        private Object firstParameters;
+        private boolean hasFirstParameters;
+
+        StreamingRunner(RunnersFactory runnersFactory, Iterator<Object> parameters,
+                String namePattern, ParametersRunnerFactory runnerFactory, int parallelism) {
+            this.runnersFactory = runnersFactory;
+            this.parameters = parameters;
+            this.namePattern = namePattern;
+            this.runnerFactory = runnerFactory;
+            this.parallelism = parallelism;
+            hasFirstParameters = parameters.hasNext();
+            if (hasFirstParameters) {
+                firstParameters = parameters.next();
+            }
+        }
+
+        Object getFirstParameters() {
+            return firstParameters;
+        }
+
+        boolean hasFirstParameters() {
+            return hasFirstParameters;
+        }
+
+        synchronized void filter(Filter filter) {
+            filters.add(filter);
+        }
+
+        synchronized void sort(Sorter sorter) {
+            sorters.add(sorter);
+        }
+
+        @Override
+        public Description getDescription() {
+            return Description.createSuiteDescription(
+                    runnersFactory.testClass.getJavaClass());
+        }
+
+        @Override
+        public void run(RunNotifier notifier) {
+            ParallelRows rows = parallelism == 1 ? null : new ParallelRows(notifier, parallelism);
+            try {
+                runRows(notifier, rows);
+            } finally {
+                if (rows != null) {
+                    rows.finish();
+                }
+            }
+        }
+
+        private void runRows(RunNotifier notifier, ParallelRows rows) {
+            Class<?> javaClass = runnersFactory.testClass.getJavaClass();
+            for (int index = 0; ; index++) {
+                Object parametersOfSingleTest;
+                try {
+                    if (hasFirstParameters) {
+                        parametersOfSingleTest = firstParameters;
+                        hasFirstParameters = false;
+                        firstParameters = null;
+                    } else if (parameters.hasNext()) {
+                        parametersOfSingleTest = parameters.next();
+                    } else {
+                        return;
+                    }
+                } catch (Throwable e) {
+                    runRow(new ErrorReportingRunner(javaClass, e), notifier, rows);
+                    return;
+                }
+                Runner runner;
+                try {
+                    runner = runnersFactory.createRunnerForParameters(
+                            parametersOfSingleTest, index, namePattern, runnerFactory);
+                } catch (Throwable e) {
+                    runRow(new ErrorReportingRunner(javaClass, e), notifier, rows);
+                    continue;
+                }
+                if (prepare(runner)) {
+                    runRow(runner, notifier, rows);
+                }
+            }
+        }
+
+        private static void runRow(Runner runner, RunNotifier notifier, ParallelRows rows) {
+            if (rows == null) {
+                runner.run(notifier);
+            } else {
+                rows.submit(runner);
+            }
+        }
+
+        /**
+         * Applies the filters and sorters to the runner of a set of parameters.
+         * Returns {@code false} if no tests remain.
+         */
+        private synchronized boolean prepare(Runner runner) {
+            for (Filter each : filters) {
+                if (!each.shouldRun(runner.getDescription())) {
+                    return false;
+                }
+                try {
+                    each.apply(runner);
+                } catch (NoTestsRemainException e) {
+                    return false;
+                }
+            }
+            for (Sorter each : sorters) {
+                each.apply(runner);
+            }
+            return true;
+        }
+    }
+
     private static class RunnersFactory {
         private static final ParametersRunnerFactory DEFAULT_FACTORY = new BlockJUnit4ClassRunnerWithParametersFactory();
 
         private final TestClass testClass;
         private final FrameworkMethod parametersMethod;
         private final List<Object> allParameters;
+        private final StreamingRunner streamingRunner;
+        private final int parallelism;
         private final int parameterCount;
         private final Runner runnerOverride;
 
         private RunnersFactory(Class<?> klass) throws Throwable {
-            testClass = new TestClass(klass);
+            testClass = TestClassCache.get(klass);
             parametersMethod = getParametersMethod(testClass);
-            List<Object> allParametersResult;
+            Parameters parameters = parametersMethod.getAnnotation(Parameters.class);
+            parallelism = parameters.parallelism();
+            if (parallelism < 1) {
+                throw new Exception("Parallelism of parameters method "
+                        + parametersMethod.getName() + "() must be positive, but was "
+                        + parallelism);
+            }
+            List<Object> allParametersResult = Collections.emptyList();
+            StreamingRunner streamingRunnerResult = null;
             AssumptionViolationRunner assumptionViolationRunner = null;
             try {
-                allParametersResult = allParameters(testClass, parametersMethod);
+                if (parameters.streaming()) {
+                    streamingRunnerResult = new StreamingRunner(this,
+                            parametersIterator(testClass, parametersMethod),
+                            parameters.name(), getParametersRunnerFactory(), parallelism);
+                } else {
+                    allParametersResult = allParameters(testClass, parametersMethod);
+                }
             } catch (AssumptionViolatedException e) {
-                allParametersResult = Collections.emptyList();
                 assumptionViolationRunner = new AssumptionViolationRunner(testClass,
                         parametersMethod.getName(), e);
             }
             allParameters = allParametersResult;
+            streamingRunner = assumptionViolationRunner == null ? streamingRunnerResult : null;
             runnerOverride = assumptionViolationRunner;
-            parameterCount =
-                    allParameters.isEmpty() ? 0 : normalizeParameters(allParameters.get(0)).length;
+            if (streamingRunner != null) {
+                parameterCount = streamingRunner.hasFirstParameters()
+                        ? normalizeParameters(streamingRunner.getFirstParameters()).length : 0;
+            } else {
+                parameterCount = allParameters.isEmpty()
+                        ? 0 : normalizeParameters(allParameters.get(0)).length;
+            }
         }
 
         private List<Runner> createRunners() throws Exception {
             if (runnerOverride != null) {
                 return Collections.singletonList(runnerOverride);
             }
+            if (streamingRunner != null) {
+                return Collections.<Runner>singletonList(streamingRunner);
+            }
             Parameters parameters = parametersMethod.getAnnotation(Parameters.class);
             return Collections.unmodifiableList(createRunnersForParameters(
                     allParameters, parameters.name(),
@@ -416,6 +727,12 @@ public class Parameterized extends Suite {
                     result.add(entry);
                 }
                 return result;
+            } else if (parameters instanceof Iterator) {
+                List<Object> result = new ArrayList<Object>();
+                for (Iterator<Object> iter = (Iterator<Object>) parameters; iter.hasNext(); ) {
+                    result.add(iter.next());
+                }
+                return result;
             } else if (parameters instanceof Object[]) {
                 return Arrays.asList((Object[]) parameters);
             } else {
@@ -423,6 +740,21 @@ public class Parameterized extends Suite {
             }
         }
 
+        @SuppressWarnings("unchecked")
+        private static Iterator<Object> parametersIterator(
+                TestClass testClass, FrameworkMethod parametersMethod) throws Throwable {
+            Object parameters = parametersMethod.invokeExplosively(null);
+            if (parameters instanceof Iterator) {
+                return (Iterator<Object>) parameters;
+            } else if (parameters instanceof Iterable) {
+                return ((Iterable<Object>) parameters).iterator();
+            } else if (parameters instanceof Object[]) {
+                return Arrays.asList((Object[]) parameters).iterator();
+            } else {
+                throw parametersMethodReturnedWrongType(testClass, parametersMethod);
+            }
+        }
+
         private static FrameworkMethod getParametersMethod(TestClass testClass) throws Exception {
             List<FrameworkMethod> methods = testClass
                     .getAnnotatedMethods(Parameters.class);
@@ -453,6 +785,18 @@ public class Parameterized extends Suite {
             }
         }
 
+        private Runner createRunnerForParameters(Object parametersOfSingleTest,
+                int index, String namePattern, ParametersRunnerFactory runnerFactory)
+                throws Exception {
+            try {
+                return runnerFactory.createRunnerForTestWithParameters(
+                        createTestWithNotNormalizedParameters(namePattern, index,
+                                parametersOfSingleTest));
+            } catch (ClassCastException e) {
+                throw parametersMethodReturnedWrongType(testClass, parametersMethod);
+            }
+        }
+
         private List<TestWithParameters> createTestsForParameters(
                 Iterable<Object> allParameters, String namePattern)
                 throws Exception {
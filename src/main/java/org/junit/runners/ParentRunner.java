@@ -44,6 +44,7 @@ import org.junit.runners.model.MemberValueConsumer;
 import org.junit.runners.model.RunnerScheduler;
 import org.junit.runners.model.Statement;
 import org.junit.runners.model.TestClass;
+import org.junit.runners.model.TestClassCache;
 import org.junit.validator.AnnotationsValidator;
 import org.junit.validator.TestClassValidator;
 
@@ -105,7 +106,7 @@ protected ParentRunner(TestClass testClass) throws InitializationError {
      */
     @Deprecated
     protected TestClass createTestClass(Class<?> testClass) {
-        return new TestClass(testClass);
+        return TestClassCache.get(testClass);
     }
 
     //
@@ -481,9 +482,28 @@ protected ParentRunner(TestClass testClass) throws InitializationError {
     }
 
     private boolean shouldRun(Filter filter, T each) {
+        if (each instanceof ParentRunner<?> && ((ParentRunner<?>) each).filtersWhileRunning()) {
+            // Its description does not show all of its tests, so let it decide.
+            return true;
+        }
         return filter.shouldRun(describeChild(each));
     }
 
+    /**
+     * Returns whether this runner, or one of its children, only learns about
+     * its tests while it runs and applies filters to them then. The
+     * description of such a runner does not show all of its tests, so a
+     * filter is always passed on to it.
+     */
+    boolean filtersWhileRunning() {
+        for (T each : getFilteredChildren()) {
+            if (each instanceof ParentRunner<?> && ((ParentRunner<?>) each).filtersWhileRunning()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private Comparator<? super T> comparator(final Sorter sorter) {
         return new Comparator<T>() {
             public int compare(T o1, T o2) {
@@ -6,8 +6,6 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.List;
 
-import org.junit.internal.runners.model.ReflectiveCallable;
-
 /**
  * Represents a method on a test class to be invoked at the appropriate point in
  * test execution. These methods are usually marked with an annotation (such as
@@ -55,14 +53,14 @@ public class FrameworkMethod extends FrameworkMember<FrameworkMethod> {
      * unwrapped, and their causes rethrown.
      */
     //这里对调用method时可能抛出的InvocationTargetException异常做了包装，当发生异常时将cause抛出而不是InvocationTargetException
-    public Object invokeExplosively(final Object target, final Object... params)
+    public Object invokeExplosively(Object target, Object... params)
             throws Throwable {
-        return new ReflectiveCallable() {
-            @Override
-            protected Object runReflectiveCall() throws Throwable {
-                return method.invoke(target, params);
-            }
-        }.run();
+        // Same unwrapping as ReflectiveCallable, without allocating one per call
+        try {
+            return method.invoke(target, params);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
     }
 
     /**
@@ -42,6 +42,8 @@ public class TestClass implements Annotatable {
      * constructor executes, the class is scanned for annotations, which can be
      * an expensive process (we hope in future JDK's it will not be.) Therefore,
      * try to share instances of {@code TestClass} where possible.
+     *
+     * @see TestClassCache
      */
     public TestClass(Class<?> clazz) {
         this.clazz = clazz;
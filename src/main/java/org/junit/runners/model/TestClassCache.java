@@ -0,0 +1,151 @@
+package org.junit.runners.model;
+
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide cache of {@link TestClass} instances. Scanning a class for
+ * annotated members is expensive, and the same class is often wrapped many
+ * times: once per runner, again when a {@code Request} is rebuilt (for example
+ * by an IDE rerunning a test) and again by runners that create child runners
+ * for the same class. As {@code TestClass} is immutable, a single instance can
+ * be shared by all of them.
+ *
+ * <p>Classes are held weakly. As a {@code TestClass} holds its class, the
+ * cached instance is held softly only if its class was loaded by the class
+ * loader of JUnit or one of its parents, which cannot be collected before
+ * JUnit anyway. The instances for classes of other class loaders, for
+ * example the fresh class loaders in which IDEs and build daemons rerun
+ * tests, are held weakly: they stay cached while a runner uses them, and
+ * caching them never prevents their class loader from being collected.
+ * Each class object is a key of its own, so classes with the same name that
+ * were loaded by different class loaders never share an entry.
+ *
+ * @since 4.13
+ */
+public final class TestClassCache {
+    private static final Map<Class<?>, Reference<TestClass>> CACHE =
+            new WeakHashMap<Class<?>, Reference<TestClass>>();
+
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+    private static final AtomicLong SCAN_NANOS = new AtomicLong();
+
+    private TestClassCache() {
+    }
+
+    /**
+     * Returns the {@code TestClass} for {@code clazz}, scanning the class only
+     * if it is not in the cache.
+     *
+     * @throws IllegalArgumentException if the class has more than one public
+     * constructor (see {@link TestClass#TestClass(Class)})
+     */
+    public static TestClass get(Class<?> clazz) {
+        if (clazz == null) {
+            return new TestClass(null);
+        }
+        TestClass cached = lookUp(clazz);
+        if (cached != null) {
+            HITS.incrementAndGet();
+            return cached;
+        }
+        long start = System.nanoTime();
+        TestClass testClass = new TestClass(clazz);
+        SCAN_NANOS.addAndGet(System.nanoTime() - start);
+        MISSES.incrementAndGet();
+        synchronized (CACHE) {
+            // Another thread may have scanned the class at the same time.
+            TestClass other = lookUp(clazz);
+            if (other != null) {
+                return other;
+            }
+            CACHE.put(clazz, isLoadedByJUnitOrParentLoader(clazz)
+                    ? new SoftReference<TestClass>(testClass)
+                    : new WeakReference<TestClass>(testClass));
+        }
+        return testClass;
+    }
+
+    private static boolean isLoadedByJUnitOrParentLoader(Class<?> clazz) {
+        ClassLoader loader = clazz.getClassLoader();
+        if (loader == null) {
+            return true;
+        }
+        try {
+            for (ClassLoader each = TestClassCache.class.getClassLoader(); each != null;
+                    each = each.getParent()) {
+                if (each == loader) {
+                    return true;
+                }
+            }
+        } catch (SecurityException e) {
+            // Hold the instance weakly if the parents cannot be inspected.
+        }
+        return false;
+    }
+
+    private static TestClass lookUp(Class<?> clazz) {
+        Reference<TestClass> reference;
+        synchronized (CACHE) {
+            reference = CACHE.get(clazz);
+        }
+        return reference == null ? null : reference.get();
+    }
+
+    /**
+     * Removes all entries and resets the statistics.
+     */
+    public static void clear() {
+        synchronized (CACHE) {
+            CACHE.clear();
+        }
+        HITS.set(0);
+        MISSES.set(0);
+        SCAN_NANOS.set(0);
+    }
+
+    /**
+     * Returns the number of requests that were answered from the cache.
+     */
+    public static long getHitCount() {
+        return HITS.get();
+    }
+
+    /**
+     * Returns the number of requests that had to scan the class.
+     */
+    public static long getMissCount() {
+        return MISSES.get();
+    }
+
+    /**
+     * Returns the fraction of requests that were answered from the cache, or
+     * {@code 0} if there were no requests.
+     */
+    public static double getHitRate() {
+        long hits = HITS.get();
+        long total = hits + MISSES.get();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Returns the time spent scanning classes, in nanoseconds.
+     */
+    public static long getScanTimeNanos() {
+        return SCAN_NANOS.get();
+    }
+
+    /**
+     * Returns an estimate of the scanning time saved by the cache, in
+     * nanoseconds: the number of hits times the average time of a scan.
+     */
+    public static long getEstimatedTimeSavedNanos() {
+        long misses = MISSES.get();
+        return misses == 0 ? 0 : HITS.get() * (SCAN_NANOS.get() / misses);
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.runners.Suite.SuiteClasses;
 @RunWith(Suite.class)
 @SuiteClasses({
         CategoriesAndParameterizedTest.class,
+        CategoryFilterMasksTest.class,
         CategoryFilterFactoryTest.class,
         CategoryTest.class,
         CategoryValidatorTest.class,
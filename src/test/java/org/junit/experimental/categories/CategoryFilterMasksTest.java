@@ -0,0 +1,193 @@
+package org.junit.experimental.categories;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Categories.CategoryFilter;
+import org.junit.runner.Description;
+
+/**
+ * Compares {@link CategoryFilter} with a straightforward implementation of the
+ * category semantics of JUnit 4.12 for all combinations of a few categories.
+ */
+public class CategoryFilterMasksTest {
+    public interface A {}
+    public interface B extends A {}
+    public interface C {}
+    public interface D extends B, C {}
+
+    private static final Class<?>[] CATEGORIES = {A.class, B.class, C.class, D.class};
+
+    public static class NoClassCategory {
+        public void none() {}
+        @Category({}) public void empty() {}
+        @Category(A.class) public void a() {}
+        @Category(B.class) public void b() {}
+        @Category(C.class) public void c() {}
+        @Category(D.class) public void d() {}
+        @Category({A.class, C.class}) public void ac() {}
+        @Category({B.class, C.class}) public void bc() {}
+    }
+
+    @Category(C.class)
+    public static class ClassCategoryC extends NoClassCategory {
+    }
+
+    @Category({A.class, D.class})
+    public static class ClassCategoriesAD extends NoClassCategory {
+    }
+
+    public static class InheritsClassCategoryC extends ClassCategoryC {
+    }
+
+    private static List<Description> descriptions() {
+        List<Description> descriptions = new ArrayList<Description>();
+        Class<?>[] testClasses = {NoClassCategory.class, ClassCategoryC.class,
+                ClassCategoriesAD.class, InheritsClassCategoryC.class};
+        for (Class<?> testClass : testClasses) {
+            Description suite = Description.createSuiteDescription(testClass);
+            for (Method method : NoClassCategory.class.getDeclaredMethods()) {
+                suite.addChild(Description.createTestDescription(
+                        testClass, method.getName(), method.getAnnotations()));
+            }
+            descriptions.add(suite);
+            descriptions.addAll(suite.getChildren());
+        }
+        descriptions.add(Description.createTestDescription("no.such.Class", "test"));
+        return descriptions;
+    }
+
+    private static List<Set<Class<?>>> subsetsOfCategories() {
+        List<Set<Class<?>>> subsets = new ArrayList<Set<Class<?>>>();
+        for (int bits = 0; bits < 1 << CATEGORIES.length; bits++) {
+            Set<Class<?>> subset = new LinkedHashSet<Class<?>>();
+            for (int i = 0; i < CATEGORIES.length; i++) {
+                if ((bits & 1 << i) != 0) {
+                    subset.add(CATEGORIES[i]);
+                }
+            }
+            subsets.add(subset);
+        }
+        return subsets;
+    }
+
+    @Test
+    public void matchesSemanticsOfJUnit412() {
+        List<Description> descriptions = descriptions();
+        boolean[] matchAny = {true, false};
+        int comparisons = 0;
+        for (Set<Class<?>> included : subsetsOfCategories()) {
+            for (Set<Class<?>> excluded : subsetsOfCategories()) {
+                for (boolean includedAny : matchAny) {
+                    for (boolean excludedAny : matchAny) {
+                        CategoryFilter filter = CategoryFilter.categoryFilter(
+                                includedAny, included, excludedAny, excluded);
+                        for (Description each : descriptions) {
+                            assertEquals(filter + " on " + each,
+                                    shouldRun(includedAny, included, excludedAny, excluded, each),
+                                    filter.shouldRun(each));
+                            comparisons++;
+                        }
+                    }
+                }
+            }
+        }
+        assertEquals(16 * 16 * 4 * descriptions.size(), comparisons);
+    }
+
+    /*
+     * The implementation of Categories.CategoryFilter in JUnit 4.12.
+     */
+
+    private static boolean shouldRun(boolean includedAny, Set<Class<?>> included,
+            boolean excludedAny, Set<Class<?>> excluded, Description description) {
+        if (hasCorrectCategoryAnnotation(includedAny, included, excludedAny, excluded, description)) {
+            return true;
+        }
+        for (Description each : description.getChildren()) {
+            if (shouldRun(includedAny, included, excludedAny, excluded, each)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasCorrectCategoryAnnotation(boolean includedAny, Set<Class<?>> included,
+            boolean excludedAny, Set<Class<?>> excluded, Description description) {
+        Set<Class<?>> childCategories = categories(description);
+        if (childCategories.isEmpty()) {
+            return included.isEmpty();
+        }
+        if (!excluded.isEmpty()) {
+            if (excludedAny) {
+                if (matchesAnyParentCategories(childCategories, excluded)) {
+                    return false;
+                }
+            } else {
+                if (matchesAllParentCategories(childCategories, excluded)) {
+                    return false;
+                }
+            }
+        }
+        if (included.isEmpty()) {
+            return true;
+        } else if (includedAny) {
+            return matchesAnyParentCategories(childCategories, included);
+        } else {
+            return matchesAllParentCategories(childCategories, included);
+        }
+    }
+
+    private static boolean matchesAnyParentCategories(Set<Class<?>> childCategories,
+            Set<Class<?>> parentCategories) {
+        for (Class<?> parentCategory : parentCategories) {
+            if (hasAssignableTo(childCategories, parentCategory)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesAllParentCategories(Set<Class<?>> childCategories,
+            Set<Class<?>> parentCategories) {
+        for (Class<?> parentCategory : parentCategories) {
+            if (!hasAssignableTo(childCategories, parentCategory)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasAssignableTo(Set<Class<?>> assigns, Class<?> to) {
+        for (Class<?> from : assigns) {
+            if (to.isAssignableFrom(from)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Set<Class<?>> categories(Description description) {
+        Set<Class<?>> categories = new HashSet<Class<?>>();
+        Collections.addAll(categories, directCategories(description));
+        Class<?> testClass = description.getTestClass();
+        if (testClass != null) {
+            Collections.addAll(categories,
+                    directCategories(Description.createSuiteDescription(testClass)));
+        }
+        return categories;
+    }
+
+    private static Class<?>[] directCategories(Description description) {
+        Category annotation = description.getAnnotation(Category.class);
+        return annotation == null ? new Class<?>[0] : annotation.value();
+    }
+}
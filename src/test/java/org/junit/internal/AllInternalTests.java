@@ -4,6 +4,7 @@ import org.junit.internal.builders.AnnotatedBuilderTest;
 import org.junit.internal.matchers.StacktracePrintingMatcherTest;
 import org.junit.internal.matchers.ThrowableCauseMatcherTest;
 import org.junit.internal.runners.ErrorReportingRunnerTest;
+import org.junit.internal.runners.statements.CpuSamplerTest;
 import org.junit.internal.runners.statements.ExpectExceptionTest;
 import org.junit.internal.runners.statements.FailOnTimeoutTest;
 import org.junit.runner.RunWith;
@@ -14,6 +15,7 @@ import org.junit.runners.Suite.SuiteClasses;
 @SuiteClasses({
         AnnotatedBuilderTest.class,
         ChecksTest.class,
+        CpuSamplerTest.class,
         ErrorReportingRunnerTest.class,
         ExpectExceptionTest.class,
         FailOnTimeoutTest.class,
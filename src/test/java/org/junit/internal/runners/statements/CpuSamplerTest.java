@@ -0,0 +1,101 @@
+package org.junit.internal.runners.statements;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CpuSamplerTest {
+    private final ThreadGroup group = new ThreadGroup("CpuSamplerTest");
+
+    private volatile boolean running = true;
+
+    private volatile long sink;
+
+    private final CountDownLatch started = new CountDownLatch(2);
+
+    private Thread busy;
+
+    private Thread sleeping;
+
+    private CpuSampler sampler;
+
+    @Before
+    public void startThreads() throws Exception {
+        busy = new Thread(group, new Runnable() {
+            public void run() {
+                started.countDown();
+                while (running) {
+                    sink += System.nanoTime();
+                }
+            }
+        }, "busy");
+        sleeping = new Thread(group, new Runnable() {
+            public void run() {
+                started.countDown();
+                while (running) {
+                    try {
+                        Thread.sleep(5);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+        }, "sleeping");
+        busy.start();
+        sleeping.start();
+        started.await();
+        sampler = CpuSampler.start(group, 100, TimeUnit.MILLISECONDS);
+        assumeThat("CPU time is supported", sampler, notNullValue());
+    }
+
+    @After
+    public void stopThreads() throws Exception {
+        if (sampler != null) {
+            sampler.stop();
+        }
+        running = false;
+        busy.join();
+        sleeping.join();
+    }
+
+    @Test
+    public void findsBusiestThread() throws Exception {
+        Thread.sleep(100);
+        sampler.run();
+
+        assertThat(sampler.getBusiestThread(), is(busy));
+    }
+
+    @Test
+    public void describesCpuTimeHistory() throws Exception {
+        Thread.sleep(100);
+        sampler.run();
+
+        assertThat(sampler.describeHistory(busy), containsString("CPU time per 10 ms: "));
+    }
+
+    @Test
+    public void hasNoHistoryForUnknownThread() {
+        assertThat(sampler.describeHistory(Thread.currentThread()), is(""));
+    }
+
+    @Test
+    public void hasNoBusiestThreadWithoutSamples() {
+        CpuSampler idle = CpuSampler.start(new ThreadGroup("empty"), 1, TimeUnit.HOURS);
+        try {
+            assertThat(idle.getBusiestThread(), is(nullValue()));
+        } finally {
+            idle.stop();
+        }
+    }
+}
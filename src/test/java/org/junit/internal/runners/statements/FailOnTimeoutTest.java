@@ -192,4 +192,82 @@ public class FailOnTimeoutTest {
             }
         }
     }
+
+    @Test
+    public void watchdogRunsStatementOnCallingThread() throws Throwable {
+        ThreadRecordingStatement recording = new ThreadRecordingStatement();
+        builder().withTimeout(TIMEOUT, MILLISECONDS).withWatchdog(true).build(recording).evaluate();
+        assertTrue(recording.thread == Thread.currentThread());
+    }
+
+    @Test
+    public void watchdogIsNotUsedWhenLookingForStuckThread() throws Throwable {
+        ThreadRecordingStatement recording = new ThreadRecordingStatement();
+        builder().withTimeout(TIMEOUT, MILLISECONDS).withWatchdog(true)
+                .withLookingForStuckThread(true).build(recording).evaluate();
+        assertFalse(recording.thread == Thread.currentThread());
+    }
+
+    @Test
+    public void watchdogThrowsTestTimedOutException() throws Throwable {
+        FailOnTimeout watched = builder().withTimeout(TIMEOUT, MILLISECONDS).withWatchdog(true).build(statement);
+        statement.nextException = null;
+        statement.waitDuration = DURATION_THAT_EXCEEDS_TIMEOUT;
+        try {
+            watched.evaluate();
+            fail("No exception was thrown when test timed out");
+        } catch (TestTimedOutException e) {
+            assertEquals(TIMEOUT, e.getTimeout());
+            assertFalse("Interrupted status was not cleared", Thread.currentThread().isInterrupted());
+        }
+    }
+
+    @Test
+    public void watchdogSendsUpExceptionThrownByStatement() throws Throwable {
+        RuntimeException exception = new RuntimeException();
+        thrown.expect(is(exception));
+        statement.nextException = exception;
+        statement.waitDuration = 0;
+        builder().withTimeout(TIMEOUT, MILLISECONDS).withWatchdog(true).build(statement).evaluate();
+    }
+
+    @Test
+    public void watchdogDoesNotInterruptStatementThatFinishedInTime() throws Throwable {
+        FailOnTimeout watched = builder().withTimeout(TIMEOUT, MILLISECONDS).withWatchdog(true).build(statement);
+        statement.nextException = null;
+        statement.waitDuration = 0;
+        for (int i = 0; i < 100; i++) {
+            watched.evaluate();
+        }
+        sleep(2 * TIMEOUT);
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    public void watchdogStackTraceContainsRealCauseOfTimeout() throws Throwable {
+        FailOnTimeout watched = builder().withTimeout(TIMEOUT, MILLISECONDS).withWatchdog(true)
+                .build(new StuckStatement());
+        try {
+            watched.evaluate();
+            fail("Expected timeout exception");
+        } catch (TestTimedOutException e) {
+            boolean containsRealCause = false;
+            for (StackTraceElement element : e.getStackTrace()) {
+                if ("theRealCauseOfTheTimeout".equals(element.getMethodName())) {
+                    containsRealCause = true;
+                }
+            }
+            assertTrue("Stack trace does not contain the real cause of the timeout",
+                    containsRealCause);
+        }
+    }
+
+    private static final class ThreadRecordingStatement extends Statement {
+        Thread thread;
+
+        @Override
+        public void evaluate() throws Throwable {
+            thread = Thread.currentThread();
+        }
+    }
 }
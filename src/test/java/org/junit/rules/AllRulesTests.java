@@ -17,7 +17,9 @@ import org.junit.runners.Suite.SuiteClasses;
         RuleMemberValidatorTest.class,
         StopwatchTest.class,
         TempFolderRuleTest.class,
+        TemporaryFolderBackgroundDeletionTest.class,
         TemporaryFolderRuleAssuredDeletionTest.class,
+        TemporaryFolderTemplateTest.class,
         TemporaryFolderUsageTest.class,
         TestRuleTest.class,
         TestWatcherTest.class,
@@ -0,0 +1,75 @@
+package org.junit.rules;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+public class TemporaryFolderBackgroundDeletionTest {
+    @Rule
+    public final TemporaryFolder parent = new TemporaryFolder();
+
+    private static void createTree(TemporaryFolder folder) throws IOException {
+        for (int i = 0; i < 3; i++) {
+            folder.newFile("file" + i);
+            for (int j = 0; j < 3; j++) {
+                File subfolder = folder.newFolder("folder" + i, "folder" + j);
+                for (int k = 0; k < 10; k++) {
+                    new File(subfolder, "file" + k).createNewFile();
+                }
+            }
+        }
+    }
+
+    @Test
+    public void deletesFolderInBackground() throws Exception {
+        TemporaryFolder folder = TemporaryFolder.builder()
+                .parentFolder(parent.getRoot())
+                .deleteInBackground()
+                .build();
+        folder.create();
+        createTree(folder);
+
+        folder.delete();
+        assertFalse(folder.getRoot().exists());
+        assertTrue(BackgroundDeletion.awaitDeletion(10, TimeUnit.SECONDS));
+        assertEquals(0, parent.getRoot().list().length);
+    }
+
+    @Test
+    public void deletesTrashLeftOverByKilledJvm() throws Exception {
+        File leftover = parent.newFolder("junit1a2b3c-1-1.trash", "folder");
+        new File(leftover, "file").createNewFile();
+        File unrelated = parent.newFolder("unrelated.trash");
+        TemporaryFolder folder = TemporaryFolder.builder()
+                .parentFolder(parent.getRoot())
+                .deleteInBackground()
+                .build();
+        folder.create();
+
+        folder.delete();
+        assertTrue(BackgroundDeletion.awaitDeletion(10, TimeUnit.SECONDS));
+        assertArrayEquals(new String[] {unrelated.getName()}, parent.getRoot().list());
+    }
+
+    @Test
+    public void deletesFolderBeforeTestFinishesIfDeletionIsAssured() throws Exception {
+        TemporaryFolder folder = TemporaryFolder.builder()
+                .parentFolder(parent.getRoot())
+                .deleteInBackground()
+                .assureDeletion()
+                .build();
+        folder.create();
+        createTree(folder);
+
+        folder.delete();
+        assertEquals(0, parent.getRoot().list().length);
+    }
+}
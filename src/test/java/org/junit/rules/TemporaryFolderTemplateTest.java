@@ -0,0 +1,126 @@
+package org.junit.rules;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+public class TemporaryFolderTemplateTest {
+    @Rule
+    public final TemporaryFolder template = new TemporaryFolder();
+
+    private static void write(File file, String content) throws IOException {
+        Writer writer = new FileWriter(file);
+        try {
+            writer.write(content);
+        } finally {
+            writer.close();
+        }
+    }
+
+    private static String read(File file) throws IOException {
+        BufferedReader reader = new BufferedReader(new FileReader(file));
+        try {
+            return reader.readLine();
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void copiesTemplate() throws Exception {
+        write(template.newFile("top.txt"), "top");
+        template.newFolder("empty");
+        for (int i = 0; i < 5; i++) {
+            File folder = template.newFolder("folder" + i, "nested");
+            write(new File(folder, "file.txt"), "nested " + i);
+        }
+        TemporaryFolder folder = TemporaryFolder.builder().template(template.getRoot()).build();
+        folder.create();
+        try {
+            assertEquals("top", read(new File(folder.getRoot(), "top.txt")));
+            assertTrue(new File(folder.getRoot(), "empty").isDirectory());
+            for (int i = 0; i < 5; i++) {
+                assertEquals("nested " + i,
+                        read(new File(folder.getRoot(), "folder" + i + "/nested/file.txt")));
+            }
+
+            write(new File(folder.getRoot(), "top.txt"), "changed");
+            assertEquals("top", read(new File(template.getRoot(), "top.txt")));
+        } finally {
+            folder.delete();
+        }
+    }
+
+    @Test
+    public void failsIfTemplateIsNotAFolder() throws Exception {
+        TemporaryFolder folder = TemporaryFolder.builder()
+                .template(new File(template.getRoot(), "missing")).build();
+        try {
+            folder.create();
+            fail("created folder from missing template");
+        } catch (IOException e) {
+            assertThat(e.getMessage(), containsString("is not a directory"));
+        } finally {
+            folder.delete();
+        }
+    }
+
+    @Test
+    public void deletesFolderIfTemplateCannotBeCopied() throws Exception {
+        File parent = template.newFolder("parent");
+        TemporaryFolder folder = TemporaryFolder.builder()
+                .parentFolder(parent)
+                .template(new File(template.getRoot(), "missing")).build();
+        try {
+            folder.create();
+            fail("created folder from missing template");
+        } catch (IOException expected) {
+        }
+        assertEquals(0, parent.list().length);
+    }
+
+    private static void symbolicLink(File link, File target) throws Exception {
+        int exitValue;
+        try {
+            exitValue = Runtime.getRuntime().exec(new String[] {
+                    "ln", "-s", target.getAbsolutePath(), link.getAbsolutePath()}).waitFor();
+        } catch (IOException e) {
+            exitValue = -1;
+        }
+        assumeTrue(exitValue == 0);
+    }
+
+    @Test
+    public void skipsSymbolicLinks() throws Exception {
+        write(template.newFile("file.txt"), "file");
+        File outside = template.newFolder("outside");
+        write(new File(outside, "outside.txt"), "outside");
+        File source = template.newFolder("source");
+        write(new File(source, "file.txt"), "file");
+        symbolicLink(new File(source, "linkToFolder"), outside);
+        symbolicLink(new File(source, "linkToFile"), new File(template.getRoot(), "file.txt"));
+        symbolicLink(new File(source, "cycle"), source);
+
+        TemporaryFolder folder = TemporaryFolder.builder().template(source).build();
+        folder.create();
+        try {
+            assertArrayEquals(new String[] {"file.txt"}, folder.getRoot().list());
+        } finally {
+            folder.delete();
+        }
+    }
+}
@@ -8,6 +8,9 @@ import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 
 import org.junit.After;
 import org.junit.Before;
@@ -246,6 +249,44 @@ public class TemporaryFolderUsageTest {
         assertThat(tempDir, is(folder.getRoot().getParentFile()));
     }
 
+    @Test
+    public void newRandomFoldersAreDistinctAcrossThreads() throws Exception {
+        tempFolder.create();
+        final Set<File> folders = Collections.synchronizedSet(new HashSet<File>());
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 50; j++) {
+                        try {
+                            folders.add(tempFolder.newFolder());
+                        } catch (IOException e) {
+                            throw new RuntimeException(e);
+                        }
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for (Thread each : threads) {
+            each.join();
+        }
+
+        assertThat(folders.size(), is(400));
+        assertThat(tempFolder.getRoot().list().length, is(400));
+    }
+
+    @Test
+    public void createFailsAtOnceIfParentFolderDoesNotExist() throws IOException {
+        File missing = new File(createTemporaryFolder(), "missing");
+        TemporaryFolder folder = new TemporaryFolder(missing);
+
+        thrown.expect(IOException.class);
+        thrown.expectMessage("Tried 1 times");
+        folder.create();
+    }
+
     private File createTemporaryFolder() throws IOException {
         File tempDir = File.createTempFile("junit", "tempFolder");
         assertTrue("Unable to delete temporary file", tempDir.delete());
@@ -11,7 +11,8 @@ import org.junit.runners.Suite.SuiteClasses;
         FilterFactoriesTest.class,
         FilterOptionIntegrationTest.class,
         JUnitCommandLineParseResultTest.class,
-        JUnitCoreTest.class, RequestTest.class
+        JUnitCoreTest.class, RequestTest.class,
+        StreamingResultTest.class
 })
 public class AllRunnerTests {
 }
@@ -4,19 +4,28 @@ import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.hasItems;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
 import java.util.List;
 
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.experimental.categories.IncludeCategories;
+import org.junit.experimental.max.MaxHistory;
 import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.manipulation.Filter;
 
 public class JUnitCommandLineParseResultTest {
     @Rule
     public ExpectedException expectedException = ExpectedException.none();
 
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
     private final JUnitCommandLineParseResult jUnitCommandLineParseResult = new JUnitCommandLineParseResult();
 
     @Test
@@ -129,6 +138,126 @@ public class JUnitCommandLineParseResultTest {
         assertThat(description.toString(), containsString("initializationError"));
     }
 
+    @Test
+    public void shouldParseShardArgWithEqualsSyntax() {
+        jUnitCommandLineParseResult.parseOptions("--shard=3/16");
+
+        assertThat(jUnitCommandLineParseResult.getShard().describe(), is("shard 3 of 16"));
+    }
+
+    @Test
+    public void shouldParseShardArgInWhichValueIsASeparateArg() {
+        jUnitCommandLineParseResult.parseOptions("--shard", "3/16");
+
+        assertThat(jUnitCommandLineParseResult.getShard().describe(), is("shard 3 of 16"));
+    }
+
+    @Test
+    public void shouldCreateFailureUponMalformedShard() {
+        jUnitCommandLineParseResult.parseOptions("--shard=17/16");
+
+        Runner runner = jUnitCommandLineParseResult.createRequest(new Computer()).getRunner();
+        Description description = runner.getDescription().getChildren().get(0);
+
+        assertThat(description.toString(), containsString("initializationError"));
+    }
+
+    @Test
+    public void shouldRunEachTestInExactlyOneShard() {
+        int runCount = 0;
+        for (int i = 1; i <= 2; i++) {
+            JUnitCommandLineParseResult result = new JUnitCommandLineParseResult();
+            result.parseParameters(result.parseOptions("--shard=" + i + "/2",
+                    ShardedTest.class.getName()));
+            runCount += new JUnitCore().run(result.createRequest(new Computer())).getRunCount();
+        }
+
+        assertThat(runCount, is(2));
+    }
+
+    @Test
+    public void shouldRunEachTestInExactlyOneShardByDuration() throws Exception {
+        File durations = new File(folder.getRoot(), "durations");
+        JUnitCore recorder = new JUnitCore();
+        recorder.addListener(MaxHistory.forFolder(durations).listener());
+        recorder.run(ShardedTest.class);
+
+        int runCount = 0;
+        for (int i = 1; i <= 2; i++) {
+            JUnitCommandLineParseResult result = new JUnitCommandLineParseResult();
+            result.parseParameters(result.parseOptions("--shard=" + i + "/2",
+                    "--shard-durations=" + durations, ShardedTest.class.getName()));
+            Result run = new JUnitCore().run(result.createRequest(new Computer()));
+            assertThat(run.getFailureCount(), is(0));
+            runCount += run.getRunCount();
+        }
+
+        assertThat(runCount, is(2));
+    }
+
+    @Test
+    public void shouldCreateFailureUponMissingShardDurations() {
+        jUnitCommandLineParseResult.parseOptions("--shard=1/2",
+                "--shard-durations=" + new File(folder.getRoot(), "missing"));
+
+        Runner runner = jUnitCommandLineParseResult.createRequest(new Computer()).getRunner();
+        Description description = runner.getDescription().getChildren().get(0);
+
+        assertThat(description.toString(), containsString("initializationError"));
+    }
+
+    @Test
+    public void shouldCreateFailureUponCorruptShardDurationsAndKeepFile() throws Exception {
+        File durations = folder.newFile("durations");
+        OutputStream out = new FileOutputStream(durations);
+        out.write(new byte[] {1, 2, 3});
+        out.close();
+        jUnitCommandLineParseResult.parseOptions("--shard=1/2", "--shard-durations=" + durations);
+
+        Runner runner = jUnitCommandLineParseResult.createRequest(new Computer()).getRunner();
+        Description description = runner.getDescription().getChildren().get(0);
+
+        assertThat(description.toString(), containsString("initializationError"));
+        assertTrue(durations.exists());
+    }
+
+    @Test
+    public void shouldCreateFailureUponShardDurationsWithoutShard() throws Exception {
+        jUnitCommandLineParseResult.parseOptions(
+                "--shard-durations=" + folder.newFile("durations"));
+
+        Runner runner = jUnitCommandLineParseResult.createRequest(new Computer()).getRunner();
+        Description description = runner.getDescription().getChildren().get(0);
+
+        assertThat(description.toString(), containsString("initializationError"));
+    }
+
+    @Test
+    public void shouldParseStopAfterFailures() {
+        jUnitCommandLineParseResult.parseOptions("--stop-after-failures=3");
+
+        assertThat(jUnitCommandLineParseResult.getStopAfterFailures(), is(3));
+    }
+
+    @Test
+    public void shouldCreateFailureUponMalformedStopAfterFailures() {
+        jUnitCommandLineParseResult.parseOptions("--stop-after-failures=none");
+
+        Runner runner = jUnitCommandLineParseResult.createRequest(new Computer()).getRunner();
+        Description description = runner.getDescription().getChildren().get(0);
+
+        assertThat(description.toString(), containsString("initializationError"));
+    }
+
+    @Test
+    public void shouldStopAfterFailures() {
+        JUnitCommandLineParseResult result = new JUnitCommandLineParseResult();
+        result.parseParameters(result.parseOptions("--stop-after-failures=1",
+                RequestTest.ThreeFailures.class.getName()));
+
+        assertThat(new JUnitCore().run(result.createRequest(new Computer())).getRunCount(), is(1));
+    }
+
     public static class FilterFactoryStub implements FilterFactory {
         public Filter createFilter(FilterFactoryParams params) throws FilterNotCreatedException {
             throw new FilterNotCreatedException(new Exception("stub"));
@@ -138,6 +267,16 @@ public class JUnitCommandLineParseResultTest {
     public static interface DummyCategory0 {
     }
 
+    public static class ShardedTest {
+        @Test
+        public void first() {
+        }
+
+        @Test
+        public void second() {
+        }
+    }
+
     public static class DummyTest {
         @Test
         public void dummyTest() {
@@ -1,6 +1,11 @@
 package org.junit.runner;
 
+import java.io.File;
+
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.experimental.max.MaxHistory;
+import org.junit.rules.TemporaryFolder;
 import org.junit.tests.TestSystem;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
@@ -8,6 +13,9 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 public class JUnitCoreTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
     @Test
     public void shouldAddFailuresToResult() {
         JUnitCore jUnitCore = new JUnitCore();
@@ -17,4 +25,15 @@ public class JUnitCoreTest {
         assertThat(result.getFailureCount(), is(1));
         assertThat(result.getFailures().get(0).getException(), instanceOf(IllegalArgumentException.class));
     }
+
+    @Test
+    public void shouldRecordHistoryForFailuresFirst() {
+        File file = new File(folder.getRoot(), "history");
+
+        Result result = new JUnitCore().runMain(new TestSystem(), "--failures-first=" + file,
+                "--stop-after-failures=2", RequestTest.ThreeFailures.class.getName());
+
+        assertThat(result.getFailureCount(), is(2));
+        assertThat(MaxHistory.forFolder(file).getTestDurations().size(), is(2));
+    }
 }
@@ -2,11 +2,14 @@ package org.junit.runner;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
+import org.junit.FixMethodOrder;
 import org.junit.Test;
+import org.junit.runners.MethodSorters;
 
 public class RequestTest {
-
     /**
      * #1320 A root of a {@link Description} produced by
      * {@link Request#classes(Class...)} should be named "classes"
@@ -18,4 +21,38 @@ public class RequestTest {
                 .getDescription();
         assertThat(description.toString(), is("classes"));
     }
+
+    @FixMethodOrder(MethodSorters.NAME_ASCENDING)
+    public static class ThreeFailures {
+        @Test
+        public void a() {
+            fail();
+        }
+
+        @Test
+        public void b() {
+            fail();
+        }
+
+        @Test
+        public void c() {
+            fail();
+        }
+    }
+
+    @Test
+    public void stopsAfterFailures() {
+        JUnitCore core = new JUnitCore();
+        Request request = Request.aClass(ThreeFailures.class);
+
+        Result result = core.run(request.stopAfterFailures(2));
+        assertEquals(2, result.getRunCount());
+        assertEquals(2, result.getFailureCount());
+        assertEquals(3, core.run(request).getRunCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failuresToStopAfterMustBePositive() {
+        Request.aClass(ThreeFailures.class).stopAfterFailures(0);
+    }
 }
@@ -0,0 +1,106 @@
+package org.junit.runner;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.notification.Failure;
+
+public class StreamingResultTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    public static class ManyFailures {
+        @Test
+        public void first() {
+            throw new IllegalStateException("first failure");
+        }
+
+        @Test
+        public void second() {
+            throw new IllegalArgumentException();
+        }
+
+        @Test
+        public void third() {
+            throw new AssertionError("third failure");
+        }
+
+        @Test
+        public void passing() {
+        }
+    }
+
+    private Result runWithStreamingResult(int maxFailureSamples) throws Exception {
+        File log = folder.newFile("failures");
+        Result result = Result.streaming(log, maxFailureSamples);
+        return new JUnitCore().run(Request.aClass(ManyFailures.class), result);
+    }
+
+    @Test
+    public void countsAllFailures() throws Exception {
+        Result result = runWithStreamingResult(1);
+
+        assertThat(result.getRunCount(), is(4));
+        assertThat(result.getFailureCount(), is(3));
+        assertThat(result.wasSuccessful(), is(false));
+    }
+
+    @Test
+    public void keepsOnlySampledFailuresInMemory() throws Exception {
+        Result result = runWithStreamingResult(2);
+
+        assertThat(result.getFailures().size(), is(2));
+    }
+
+    @Test
+    public void readsAllFailuresFromLog() throws Exception {
+        Result result = runWithStreamingResult(1);
+
+        List<String> messages = new ArrayList<String>();
+        for (Failure each : result.getAllFailures()) {
+            messages.add(each.getDescription().getMethodName() + ": " + each.getMessage());
+        }
+        // The order of the methods is deterministic, but not the order of declaration.
+        assertThat(messages.size(), is(3));
+        assertThat(messages.toString(), containsString("first: first failure"));
+        assertThat(messages.toString(), containsString("second: null"));
+        assertThat(messages.toString(), containsString("third: third failure"));
+    }
+
+    @Test
+    public void loggedFailuresKeepTestAndTrace() throws Exception {
+        Result result = runWithStreamingResult(1);
+
+        for (Failure each : result.getAllFailures()) {
+            if (each.getDescription().getMethodName().equals("second")) {
+                assertThat(each.getDescription(),
+                        is(Description.createTestDescription(ManyFailures.class, "second")));
+                assertThat(each.getMessage(), is(nullValue()));
+                assertThat(each.getTrace(), containsString("java.lang.IllegalArgumentException"));
+                assertThat(each.getTrace(), containsString("ManyFailures.second"));
+                assertThat(each.getTrimmedTrace(), is(each.getTrace()));
+            }
+        }
+    }
+
+    @Test
+    public void allFailuresOfNonStreamingResultAreItsFailures() {
+        Result result = new JUnitCore().run(ManyFailures.class);
+
+        assertThat(result.getAllFailures(), is((Iterable<Failure>) result.getFailures()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveNumberOfSamples() throws Exception {
+        Result.streaming(folder.newFile("failures"), 0);
+    }
+}
@@ -6,7 +6,9 @@ import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
 @SuiteClasses({
+        AsynchronousRunNotifierTest.class,
         ConcurrentRunNotifierTest.class,
+        MpscRingBufferTest.class,
         RunNotifierTest.class,
         SynchronizedRunListenerTest.class
 })
@@ -0,0 +1,206 @@
+package org.junit.runner.notification;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+
+public class AsynchronousRunNotifierTest {
+    private static final long TIMEOUT = 3;
+    private final RunNotifier fNotifier = RunNotifier.withAsynchronousListeners();
+
+    private static class RecordingListener extends RunListener {
+        final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+        volatile Thread lastThread;
+
+        @Override
+        public void testStarted(Description description) throws Exception {
+            record("started " + description.getMethodName());
+        }
+
+        @Override
+        public void testFinished(Description description) throws Exception {
+            record("finished " + description.getMethodName());
+        }
+
+        @Override
+        public void testRunFinished(Result result) throws Exception {
+            record("run finished");
+        }
+
+        private void record(String event) {
+            lastThread = Thread.currentThread();
+            events.add(event);
+        }
+    }
+
+    @RunListener.ThreadSafe
+    private static class ThreadSafeListener extends RunListener {
+        volatile Thread thread;
+
+        @Override
+        public void testStarted(Description description) throws Exception {
+            thread = Thread.currentThread();
+        }
+    }
+
+    private static class BlockingListener extends RunListener {
+        final CountDownLatch released = new CountDownLatch(1);
+        volatile int started;
+
+        @Override
+        public void testStarted(Description description) throws Exception {
+            released.await(TIMEOUT, TimeUnit.SECONDS);
+            started++;
+        }
+    }
+
+    private static class CorruptListener extends RunListener {
+        @Override
+        public void testStarted(Description description) throws Exception {
+            throw new RuntimeException("corrupt");
+        }
+
+        @Override
+        public void testRunFinished(Result result) throws Exception {
+            throw new RuntimeException("corrupt");
+        }
+    }
+
+    private static class FailureListener extends RunListener {
+        volatile Failure failure;
+
+        @Override
+        public void testFailure(Failure failure) throws Exception {
+            this.failure = failure;
+        }
+    }
+
+    @Test
+    public void deliversEventsInOrderBeforeRunFinishedReturns() {
+        RecordingListener listener = new RecordingListener();
+        fNotifier.addListener(listener);
+        for (int i = 0; i < 3000; i++) {
+            Description description = Description.createTestDescription("Example", "m" + i);
+            fNotifier.fireTestStarted(description);
+            fNotifier.fireTestFinished(description);
+        }
+        fNotifier.fireTestRunFinished(new Result());
+
+        assertEquals(6001, listener.events.size());
+        for (int i = 0; i < 3000; i++) {
+            assertEquals("started m" + i, listener.events.get(2 * i));
+            assertEquals("finished m" + i, listener.events.get(2 * i + 1));
+        }
+        assertEquals("run finished", listener.events.get(6000));
+        assertThat(listener.lastThread, is(not(sameInstance(Thread.currentThread()))));
+    }
+
+    @Test
+    public void keepsOrderPerThreadWithConcurrentProducers() throws Exception {
+        RecordingListener listener = new RecordingListener();
+        fNotifier.addListener(listener);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            final String prefix = "t" + t + "-";
+            pool.submit(new Runnable() {
+                public void run() {
+                    for (int i = 0; i < 500; i++) {
+                        fNotifier.fireTestStarted(
+                                Description.createTestDescription("Example", prefix + i));
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(TIMEOUT, TimeUnit.SECONDS));
+        fNotifier.fireTestRunFinished(new Result());
+
+        assertEquals(2001, listener.events.size());
+        for (int t = 0; t < 4; t++) {
+            int next = 0;
+            for (String event : listener.events) {
+                if (event.startsWith("started t" + t + "-")) {
+                    assertEquals("started t" + t + "-" + next++, event);
+                }
+            }
+            assertEquals(500, next);
+        }
+    }
+
+    @Test
+    public void threadSafeListenersAreCalledDirectly() {
+        ThreadSafeListener listener = new ThreadSafeListener();
+        fNotifier.addListener(listener);
+        fNotifier.fireTestStarted(Description.createTestDescription("Example", "m"));
+        assertThat(listener.thread, is(sameInstance(Thread.currentThread())));
+    }
+
+    @Test
+    public void slowListenerDoesNotBlockTestThread() {
+        BlockingListener listener = new BlockingListener();
+        fNotifier.addListener(listener);
+        fNotifier.fireTestStarted(Description.createTestDescription("Example", "m"));
+        assertEquals(0, listener.started);
+        listener.released.countDown();
+        fNotifier.fireTestRunFinished(new Result());
+        assertEquals(1, listener.started);
+    }
+
+    @Test
+    public void reportsExceptionsOfAsynchronousListenersToOtherListeners() {
+        FailureListener failureListener = new FailureListener();
+        fNotifier.addListener(new CorruptListener());
+        fNotifier.addListener(failureListener);
+        fNotifier.fireTestStarted(Description.createTestDescription("Example", "m"));
+        fNotifier.fireTestRunFinished(new Result());
+        assertNotNull("The FailureListener registered no failure.",
+                failureListener.failure);
+    }
+
+    @Test
+    public void removesAsynchronousListener() {
+        RecordingListener listener = new RecordingListener();
+        fNotifier.addListener(listener);
+        fNotifier.removeListener(listener);
+        fNotifier.fireTestRunFinished(new Result());
+        assertEquals(0, listener.events.size());
+    }
+
+    public static class Example {
+        @Test
+        public void one() {
+        }
+
+        @Test
+        public void two() {
+        }
+    }
+
+    @Test
+    public void jUnitCoreWithAsynchronousListeners() {
+        RecordingListener listener = new RecordingListener();
+        JUnitCore core = JUnitCore.withAsynchronousListeners();
+        core.addListener(listener);
+        Result result = core.run(Example.class);
+        assertEquals(2, result.getRunCount());
+        assertEquals(5, listener.events.size());
+        assertEquals("run finished", listener.events.get(4));
+    }
+}
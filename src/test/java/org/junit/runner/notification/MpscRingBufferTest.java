@@ -0,0 +1,52 @@
+package org.junit.runner.notification;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class MpscRingBufferTest {
+
+    @Test
+    public void roundsCapacityUpToPowerOfTwo() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<Integer>(3);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+    }
+
+    @Test
+    public void pollsInInsertionOrderAcrossWrapAround() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<Integer>(4);
+        int next = 0;
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 3; i++) {
+                assertTrue(buffer.offer(round * 3 + i));
+            }
+            for (int i = 0; i < 3; i++) {
+                assertEquals(Integer.valueOf(next++), buffer.poll());
+            }
+        }
+        assertNull(buffer.poll());
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    public void acceptsElementsAgainAfterPoll() {
+        MpscRingBuffer<String> buffer = new MpscRingBuffer<String>(2);
+        assertTrue(buffer.offer("a"));
+        assertTrue(buffer.offer("b"));
+        assertFalse(buffer.offer("c"));
+        assertEquals("a", buffer.poll());
+        assertTrue(buffer.offer("c"));
+        assertFalse(buffer.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveCapacity() {
+        new MpscRingBuffer<String>(0);
+    }
+}
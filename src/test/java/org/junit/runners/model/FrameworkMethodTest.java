@@ -48,6 +48,53 @@ public class FrameworkMethodTest {
         assertThat(annotation, is(nullValue()));
     }
 
+    @Test
+    public void invokeExplosivelyReturnsResultOfMethod() throws Throwable {
+        Method method = ClassWithThrowingMethods.class.getMethod("concat", String.class, String.class);
+        FrameworkMethod frameworkMethod = new FrameworkMethod(method);
+        assertThat(frameworkMethod.invokeExplosively(null, "a", "b"), is((Object) "ab"));
+    }
+
+    @Test
+    public void invokeExplosivelyRethrowsExceptionOfMethod() throws Throwable {
+        Method method = ClassWithThrowingMethods.class.getMethod("throwsChecked");
+        FrameworkMethod frameworkMethod = new FrameworkMethod(method);
+        thrown.expect(Exception.class);
+        thrown.expectMessage("checked");
+        frameworkMethod.invokeExplosively(null);
+    }
+
+    @Test
+    public void invokeExplosivelyRethrowsErrorOfMethod() throws Throwable {
+        Method method = ClassWithThrowingMethods.class.getMethod("throwsError");
+        FrameworkMethod frameworkMethod = new FrameworkMethod(method);
+        thrown.expect(AssertionError.class);
+        thrown.expectMessage("error");
+        frameworkMethod.invokeExplosively(null);
+    }
+
+    @Test
+    public void invokeExplosivelyThrowsIllegalArgumentExceptionForWrongArguments() throws Throwable {
+        Method method = ClassWithThrowingMethods.class.getMethod("concat", String.class, String.class);
+        FrameworkMethod frameworkMethod = new FrameworkMethod(method);
+        thrown.expect(IllegalArgumentException.class);
+        frameworkMethod.invokeExplosively(null, "a");
+    }
+
+    public static class ClassWithThrowingMethods {
+        public static String concat(String first, String second) {
+            return first + second;
+        }
+
+        public static void throwsChecked() throws Exception {
+            throw new Exception("checked");
+        }
+
+        public static void throwsError() {
+            throw new AssertionError("error");
+        }
+    }
+
     private static class ClassWithDummyMethod {
         @SuppressWarnings("unused")
         public void dummyMethod() {
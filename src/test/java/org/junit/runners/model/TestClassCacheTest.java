@@ -0,0 +1,116 @@
+package org.junit.runners.model;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runners.BlockJUnit4ClassRunner;
+
+public class TestClassCacheTest {
+
+    public static class Example {
+        @Test
+        public void test() {
+        }
+    }
+
+    public static class PlainClass {
+    }
+
+    @Before
+    public void clearCache() {
+        TestClassCache.clear();
+    }
+
+    @Test
+    public void returnsSameInstanceForSameClass() {
+        TestClass first = TestClassCache.get(Example.class);
+        TestClass second = TestClassCache.get(Example.class);
+        assertThat(second, is(sameInstance(first)));
+        assertEquals(1, TestClassCache.getMissCount());
+        assertEquals(1, TestClassCache.getHitCount());
+        assertEquals(0.5, TestClassCache.getHitRate(), 0.0);
+    }
+
+    @Test
+    public void runnersOfSameClassShareTestClass() throws Exception {
+        BlockJUnit4ClassRunner first = new BlockJUnit4ClassRunner(Example.class);
+        BlockJUnit4ClassRunner second = new BlockJUnit4ClassRunner(Example.class);
+        assertThat(second.getTestClass(), is(sameInstance(first.getTestClass())));
+    }
+
+    @Test
+    public void keepsClassesOfDifferentClassLoadersApart() throws Exception {
+        URL location = PlainClass.class.getProtectionDomain().getCodeSource().getLocation();
+        ClassLoader loader = new URLClassLoader(new URL[] {location}, null);
+        Class<?> otherPlainClass = loader.loadClass(PlainClass.class.getName());
+
+        TestClass testClass = TestClassCache.get(PlainClass.class);
+        TestClass otherTestClass = TestClassCache.get(otherPlainClass);
+        assertThat(otherTestClass, is(not(sameInstance(testClass))));
+        assertThat(otherTestClass.getJavaClass(), is(sameInstance((Object) otherPlainClass)));
+    }
+
+    @Test
+    public void doesNotPreventCollectionOfClassLoader() throws Exception {
+        WeakReference<ClassLoader> loader = cacheClassOfDiscardedClassLoader();
+        for (int i = 0; i < 100 && loader.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertTrue("class loader was not collected", loader.get() == null);
+    }
+
+    private static WeakReference<ClassLoader> cacheClassOfDiscardedClassLoader()
+            throws Exception {
+        URL location = PlainClass.class.getProtectionDomain().getCodeSource().getLocation();
+        ClassLoader loader = new URLClassLoader(new URL[] {location}, null);
+        Class<?> otherPlainClass = loader.loadClass(PlainClass.class.getName());
+        TestClassCache.get(otherPlainClass);
+        assertThat(TestClassCache.get(otherPlainClass).getJavaClass(),
+                is(sameInstance((Object) otherPlainClass)));
+        return new WeakReference<ClassLoader>(loader);
+    }
+
+    @Test
+    public void doesNotCacheNullClass() {
+        TestClassCache.get(null);
+        assertEquals(0, TestClassCache.getMissCount());
+        assertEquals(0, TestClassCache.getHitCount());
+    }
+
+    @Test
+    public void estimatesTimeSaved() {
+        TestClassCache.get(Example.class);
+        assertEquals(0, TestClassCache.getEstimatedTimeSavedNanos());
+        TestClassCache.get(Example.class);
+        TestClassCache.get(Example.class);
+        assertEquals(2 * TestClassCache.getScanTimeNanos(),
+                TestClassCache.getEstimatedTimeSavedNanos());
+    }
+
+    @Test
+    public void clearResetsStatistics() {
+        TestClassCache.get(Example.class);
+        TestClassCache.get(Example.class);
+        TestClassCache.clear();
+        assertEquals(0, TestClassCache.getHitCount());
+        assertEquals(0, TestClassCache.getMissCount());
+        assertEquals(0.0, TestClassCache.getHitRate(), 0.0);
+        assertTrue(TestClassCache.getScanTimeNanos() == 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void complainsIfMultipleConstructors() {
+        TestClassCache.get(TestClassTest.TwoConstructors.class);
+    }
+}
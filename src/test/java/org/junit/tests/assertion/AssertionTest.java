@@ -22,6 +22,7 @@ import org.junit.ComparisonFailure;
 import org.junit.Test;
 import org.junit.function.ThrowingRunnable;
 import org.junit.internal.ArrayComparisonFailure;
+import org.junit.internal.InexactComparisonCriteria;
 
 /**
  * Tests for {@link org.junit.Assert}
@@ -210,6 +211,90 @@ public class AssertionTest {
         assertArrayEquals(new float[]{1.0f}, new float[]{2.5f}, 1.0f);
     }
 
+    @Test
+    public void primitiveArraysReportFirstDifferingElement() {
+        long[] expecteds = new long[100000];
+        long[] actuals = new long[100000];
+        actuals[99999] = 2;
+        try {
+            assertArrayEquals("not equal", expecteds, actuals);
+        } catch (ArrayComparisonFailure e) {
+            assertEquals("not equal: arrays first differed at element [99999]; expected:<0> but was:<2>",
+                    e.getMessage());
+            return;
+        }
+        throw new AssertionError(ASSERTION_ERROR_EXPECTED);
+    }
+
+    @Test
+    public void primitiveArraysOfDifferentLengthReportEndOfArray() {
+        try {
+            assertArrayEquals(new byte[]{1, 2}, new byte[]{1, 2, 3});
+        } catch (ArrayComparisonFailure e) {
+            assertEquals("array lengths differed, expected.length=2 actual.length=3; "
+                    + "arrays first differed at element [2]; expected:<end of array> but was:<3>",
+                    e.getMessage());
+            return;
+        }
+        throw new AssertionError(ASSERTION_ERROR_EXPECTED);
+    }
+
+    @Test
+    public void doubleArraysReportFirstElementOutsideDelta() {
+        try {
+            assertArrayEquals(new double[]{1.0, 2.0, 3.0}, new double[]{1.05, 2.0, 3.5}, 0.1);
+        } catch (ArrayComparisonFailure e) {
+            assertEquals("arrays first differed at element [2]; expected:<3.0> but was:<3.5>",
+                    e.getMessage());
+            return;
+        }
+        throw new AssertionError(ASSERTION_ERROR_EXPECTED);
+    }
+
+    @Test
+    public void floatArraysWithNaNsAreEqual() {
+        assertArrayEquals(new float[]{Float.NaN, 1.0f}, new float[]{Float.NaN, 1.05f}, 0.1f);
+    }
+
+    @Test
+    public void nestedArraysReportFirstDifferingElement() {
+        int[] sharedRow = {1, 2};
+        int[][] expecteds = {sharedRow, {3, 4}, {5, 6}};
+        int[][] actuals = {sharedRow, {3, 4}, {5, 7}};
+        try {
+            assertArrayEquals("not equal", expecteds, actuals);
+        } catch (ArrayComparisonFailure e) {
+            assertEquals("not equal: arrays first differed at element [2][1]; expected:<6> but was:<7>",
+                    e.getMessage());
+            return;
+        }
+        throw new AssertionError(ASSERTION_ERROR_EXPECTED);
+    }
+
+    @Test
+    public void nestedArraysWithRowsOfDifferentLengthReportRow() {
+        try {
+            assertArrayEquals(new Object[][]{{"a"}, {"b", "c"}}, new Object[][]{{"a"}, {"b"}});
+        } catch (ArrayComparisonFailure e) {
+            assertEquals("array lengths differed, expected.length=2 actual.length=1; "
+                    + "arrays first differed at element [1][1]; expected:<c> but was:<end of array>",
+                    e.getMessage());
+            return;
+        }
+        throw new AssertionError(ASSERTION_ERROR_EXPECTED);
+    }
+
+    @Test
+    public void nestedDoubleArraysAreEqualWithinDelta() {
+        new InexactComparisonCriteria(0.1).arrayEquals(null,
+                new double[][]{{1.0, 2.0}, {3.0}}, new double[][]{{1.05, 2.0}, {2.95}});
+    }
+
+    @Test(expected = AssertionError.class)
+    public void nestedArraysOfDifferentComponentTypesAreNotEqual() {
+        assertArrayEquals(new Object[]{new int[]{1}}, new Object[]{new long[]{1}});
+    }
+
     @Test(expected = AssertionError.class)
     public void oneDimensionalBooleanArraysAreNotEqual() {
         assertArrayEquals(new boolean[]{true}, new boolean[]{false});
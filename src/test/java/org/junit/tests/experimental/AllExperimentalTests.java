@@ -4,6 +4,7 @@ import org.junit.experimental.categories.AllCategoriesTests;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
+import org.junit.tests.experimental.impact.AllImpactTests;
 import org.junit.tests.experimental.max.AllMaxTests;
 import org.junit.tests.experimental.parallel.AllParallelTests;
 import org.junit.tests.experimental.results.AllResultsTests;
@@ -13,6 +14,7 @@ import org.junit.tests.experimental.theories.extendingwithstubs.StubbedTheoriesT
 @RunWith(Suite.class)
 @SuiteClasses({
         AllCategoriesTests.class,
+        AllImpactTests.class,
         AllMaxTests.class,
         AllParallelTests.class,
         AllResultsTests.class,
@@ -0,0 +1,7 @@
+package org.junit.tests.experimental.impact;
+
+class Adder {
+    static int add(int a, int b) {
+        return a + b;
+    }
+}
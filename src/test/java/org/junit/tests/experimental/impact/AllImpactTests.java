@@ -0,0 +1,12 @@
+package org.junit.tests.experimental.impact;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+import org.junit.runners.Suite.SuiteClasses;
+
+@RunWith(Suite.class)
+@SuiteClasses({
+        ImpactIndexTest.class
+})
+public class AllImpactTests {
+}
@@ -0,0 +1,215 @@
+package org.junit.tests.experimental.impact;
+
+import static java.util.Collections.singleton;
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Collections;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.impact.ClassLoadTracer;
+import org.junit.experimental.impact.ImpactIndex;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.manipulation.Filter;
+
+public class ImpactIndexTest {
+    private static final String ADDER = Adder.class.getName();
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private File indexFile() {
+        return new File(folder.getRoot(), "impact-index");
+    }
+
+    private static Result record(ImpactIndex index, ClassLoader loader, Request request) {
+        JUnitCore core = new JUnitCore();
+        core.addListener(loader == null ? index.recorder() : index.recorder(loader));
+        return core.run(request);
+    }
+
+    private static Description test(Class<?> testClass, String methodName) {
+        return Description.createTestDescription(testClass, methodName);
+    }
+
+    @Test
+    public void recordsClassesThatTestClassRefersTo() {
+        ImpactIndex index = ImpactIndex.forFile(indexFile());
+        record(index, null, Request.aClass(UsesAdder.class));
+
+        assertThat(index.getDependencies(test(UsesAdder.class, "addsPositiveNumbers")),
+                hasItem(ADDER));
+        assertNull(index.getDependencies(test(UsesNothing.class, "addsInline")));
+    }
+
+    @Test
+    public void selectsTestsThatDependOnChangedClasses() {
+        ImpactIndex index = ImpactIndex.forFile(indexFile());
+        record(index, null, Request.classes(UsesAdder.class, UsesNothing.class));
+
+        Filter filter = index.affectedTests(singleton(ADDER));
+        Result result = new JUnitCore().run(
+                Request.classes(UsesAdder.class, UsesNothing.class).filterWith(filter));
+        assertEquals(2, result.getRunCount());
+        assertFalse(filter.shouldRun(test(UsesNothing.class, "addsInline")));
+        assertEquals("tests affected by changes to 1 classes", filter.describe());
+    }
+
+    @Test
+    public void selectsTestsThatAreNotInIndex() {
+        ImpactIndex index = ImpactIndex.forFile(indexFile());
+        record(index, null, Request.aClass(UsesNothing.class));
+
+        Filter filter = index.affectedTests(Collections.<String>emptySet());
+        assertTrue(filter.shouldRun(test(UsesAdder.class, "addsPositiveNumbers")));
+        assertFalse(filter.shouldRun(test(UsesNothing.class, "addsInline")));
+    }
+
+    @Test
+    public void selectsTestsThatFailed() {
+        ImpactIndex index = ImpactIndex.forFile(indexFile());
+        Result result = record(index, null, Request.aClass(FailingTest.class));
+        assertEquals(1, result.getFailureCount());
+
+        Filter filter = index.affectedTests(Collections.<String>emptySet());
+        assertTrue(index.contains(test(FailingTest.class, "fails")));
+        assertTrue(filter.shouldRun(test(FailingTest.class, "fails")));
+    }
+
+    public static class FailingTest {
+        @Test
+        public void fails() {
+            throw new AssertionError();
+        }
+    }
+
+    @Test
+    public void readsSavedIndex() {
+        record(ImpactIndex.forFile(indexFile()), null,
+                Request.classes(UsesAdder.class, UsesNothing.class));
+
+        ImpactIndex reloaded = ImpactIndex.forFile(indexFile());
+        assertThat(reloaded.getDependencies(test(UsesAdder.class, "addsNegativeNumbers")),
+                hasItem(ADDER));
+        assertThat(reloaded.getDependencies(test(UsesNothing.class, "addsInline")),
+                not(hasItem(ADDER)));
+    }
+
+    @Test
+    public void startsOverWithCorruptIndex() throws Exception {
+        OutputStream out = new FileOutputStream(indexFile());
+        out.write(new byte[] {1, 2, 3});
+        out.close();
+
+        ImpactIndex index = ImpactIndex.forFile(indexFile());
+        assertFalse(index.contains(test(UsesNothing.class, "addsInline")));
+    }
+
+    @Test
+    public void recordsClassesLoadedByTestWithTracer() throws Exception {
+        File testClasses = new File(UsesAdder.class.getProtectionDomain()
+                .getCodeSource().getLocation().toURI());
+        ClassLoadTracer tracer = new ClassLoadTracer(getClass().getClassLoader(), testClasses);
+        Class<?> testClass = tracer.loadClass(LoadsAdderByName.class.getName());
+        ImpactIndex index = ImpactIndex.forFile(indexFile());
+        Result result = record(index, tracer, Request.aClass(testClass));
+
+        assertEquals(0, result.getFailureCount());
+        assertTrue(tracer.getClassesLoadedSince(0).contains(ADDER));
+        assertThat(index.getDependencies(test(LoadsAdderByName.class, "addsReflectively")),
+                hasItem(ADDER));
+    }
+
+    @Test
+    public void doesNotSeeClassesLoadedByNameWithoutTracer() {
+        ImpactIndex index = ImpactIndex.forFile(indexFile());
+        record(index, null, Request.aClass(LoadsAdderByName.class));
+
+        assertThat(index.getDependencies(test(LoadsAdderByName.class, "addsReflectively")),
+                not(hasItem(ADDER)));
+    }
+
+    @Test
+    public void detectsChangedClassFiles() throws Exception {
+        ImpactIndex index = ImpactIndex.forFile(indexFile());
+        ClassLoader loader = getClass().getClassLoader();
+        record(index, loader, Request.aClass(UsesAdder.class));
+        assertTrue(index.changedClasses(loader).isEmpty());
+
+        ClassLoader changed = new ChangedAdderLoader(loader, changedAdder());
+        assertEquals(singleton(ADDER), index.changedClasses(changed));
+        assertEquals(2, new JUnitCore().run(Request.aClass(UsesAdder.class)
+                .filterWith(index.affectedTests(changed))).getRunCount());
+    }
+
+    @Test
+    public void remembersChangeUntilAllDependentTestsWereRecorded() throws Exception {
+        ImpactIndex index = ImpactIndex.forFile(indexFile());
+        ClassLoader loader = getClass().getClassLoader();
+        record(index, loader, Request.aClass(UsesAdder.class));
+
+        ClassLoader changed = new ChangedAdderLoader(loader, changedAdder());
+        record(index, changed, Request.method(UsesAdder.class, "addsPositiveNumbers"));
+        assertEquals(singleton(ADDER), index.changedClasses(changed));
+
+        record(index, changed, Request.aClass(UsesAdder.class));
+        assertTrue(index.changedClasses(changed).isEmpty());
+    }
+
+    private File changedAdder() throws Exception {
+        File file = folder.newFile("Adder.class");
+        InputStream in = getClass().getClassLoader().getResourceAsStream(
+                ADDER.replace('.', '/') + ".class");
+        OutputStream out = new FileOutputStream(file);
+        try {
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            // Trailing data changes the content, but not the constant pool.
+            out.write(0);
+        } finally {
+            out.close();
+            in.close();
+        }
+        return file;
+    }
+
+    private static class ChangedAdderLoader extends ClassLoader {
+        private final File adder;
+
+        ChangedAdderLoader(ClassLoader parent, File adder) {
+            super(parent);
+            this.adder = adder;
+        }
+
+        @Override
+        public URL getResource(String name) {
+            if (name.equals(ADDER.replace('.', '/') + ".class")) {
+                try {
+                    return adder.toURI().toURL();
+                } catch (MalformedURLException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            return super.getResource(name);
+        }
+    }
+}
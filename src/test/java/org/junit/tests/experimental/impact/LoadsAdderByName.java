@@ -0,0 +1,14 @@
+package org.junit.tests.experimental.impact;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class LoadsAdderByName {
+    @Test
+    public void addsReflectively() throws Exception {
+        Class<?> adder = Class.forName("org.junit.tests.experimental.impact.Adder");
+        assertEquals(3, adder.getDeclaredMethod("add", int.class, int.class)
+                .invoke(null, 1, 2));
+    }
+}
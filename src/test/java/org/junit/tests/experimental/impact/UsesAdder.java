@@ -0,0 +1,17 @@
+package org.junit.tests.experimental.impact;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class UsesAdder {
+    @Test
+    public void addsPositiveNumbers() {
+        assertEquals(3, Adder.add(1, 2));
+    }
+
+    @Test
+    public void addsNegativeNumbers() {
+        assertEquals(-3, Adder.add(-1, -2));
+    }
+}
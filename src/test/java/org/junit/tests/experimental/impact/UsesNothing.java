@@ -0,0 +1,12 @@
+package org.junit.tests.experimental.impact;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class UsesNothing {
+    @Test
+    public void addsInline() {
+        assertEquals(3, 1 + 2);
+    }
+}
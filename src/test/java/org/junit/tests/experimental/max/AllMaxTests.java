@@ -8,6 +8,8 @@ import org.junit.runners.Suite.SuiteClasses;
 @SuiteClasses({
         DescriptionTest.class,
         JUnit38SortingTest.class,
+        LongestFirstComputerTest.class,
+        MaxHistoryTest.class,
         MaxStarterTest.class
 })
 public class AllMaxTests {
@@ -0,0 +1,106 @@
+package org.junit.tests.experimental.max;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.max.LongestFirstComputer;
+import org.junit.experimental.max.MaxHistory;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+
+public class LongestFirstComputerTest {
+    private static final List<String> fStarted =
+            Collections.synchronizedList(new ArrayList<String>());
+
+    private File fHistoryFile;
+
+    private MaxHistory fHistory;
+
+    public static class Quick {
+        @Test
+        public void test() {
+            fStarted.add("Quick");
+        }
+    }
+
+    public static class Medium {
+        @Test
+        public void test() throws InterruptedException {
+            fStarted.add("Medium");
+            Thread.sleep(50);
+        }
+    }
+
+    public static class Slow {
+        @Test
+        public void test() throws InterruptedException {
+            fStarted.add("Slow");
+            Thread.sleep(150);
+        }
+    }
+
+    public static class Unknown {
+        @Test
+        public void test() {
+            fStarted.add("Unknown");
+        }
+    }
+
+    @Before
+    public void createHistory() throws Exception {
+        fHistoryFile = File.createTempFile("LongestFirstComputerTest", ".ser");
+        fHistoryFile.delete();
+        fHistory = MaxHistory.forFolder(fHistoryFile);
+        JUnitCore core = new JUnitCore();
+        core.addListener(fHistory.listener());
+        core.run(Quick.class, Medium.class, Slow.class);
+        fStarted.clear();
+    }
+
+    @After
+    public void deleteHistory() {
+        fHistoryFile.delete();
+    }
+
+    @Test
+    public void startsLongestClassesFirst() {
+        LongestFirstComputer computer = new LongestFirstComputer(fHistory, 1);
+        Result result = JUnitCore.runClasses(computer, Quick.class, Medium.class, Slow.class);
+        assertTrue(result.wasSuccessful());
+        assertEquals(3, result.getRunCount());
+        assertEquals("[Slow, Medium, Quick]", fStarted.toString());
+    }
+
+    @Test
+    public void assumesMedianDurationForUnknownClasses() {
+        LongestFirstComputer computer = new LongestFirstComputer(fHistory, 1);
+        JUnitCore.runClasses(computer, Unknown.class, Quick.class, Slow.class, Medium.class);
+        assertEquals("[Slow, Unknown, Medium, Quick]", fStarted.toString());
+    }
+
+    @Test
+    public void reportsPredictedAndActualMakespan() {
+        LongestFirstComputer computer = new LongestFirstComputer(fHistory, 2);
+        assertEquals(-1, computer.getPredictedMakespanNanos());
+        JUnitCore.runClasses(computer, Quick.class, Medium.class, Slow.class);
+        long predicted = computer.getPredictedMakespanNanos();
+        long actual = computer.getActualMakespanNanos();
+        // Slow runs alone on one worker, Medium and Quick share the other one.
+        assertTrue("predicted " + predicted, predicted >= 150000000L);
+        assertTrue("predicted " + predicted, predicted < 300000000L);
+        assertTrue("actual " + actual, actual >= 150000000L);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveNumberOfWorkers() {
+        new LongestFirstComputer(fHistory, 0);
+    }
+}
@@ -0,0 +1,168 @@
+package org.junit.tests.experimental.max;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.util.Comparator;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.max.MaxHistory;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.Description;
+import org.junit.runner.Result;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+
+public class MaxHistoryTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private static Description test(String name) {
+        return Description.createTestDescription("Example", name);
+    }
+
+    private static void run(MaxHistory history, String... names) throws Exception {
+        RunListener listener = history.listener();
+        for (String each : names) {
+            listener.testStarted(test(each));
+            listener.testFinished(test(each));
+        }
+        listener.testRunFinished(new Result());
+    }
+
+    @Test
+    public void readsSavedHistory() throws Exception {
+        File file = new File(folder.getRoot(), "history");
+        run(MaxHistory.forFolder(file), "a", "b");
+
+        MaxHistory reloaded = MaxHistory.forFolder(file);
+        assertEquals(2, reloaded.getTestDurations().size());
+        assertTrue(reloaded.getTestDurations().containsKey("a(Example)"));
+    }
+
+    @Test
+    public void appendsOnlyChangedEntries() throws Exception {
+        File file = new File(folder.getRoot(), "history");
+        MaxHistory history = MaxHistory.forFolder(file);
+        run(history, "a", "b", "c", "d");
+        long sizeOfFourEntries = file.length();
+
+        run(history, "a");
+        long sizeOfOneEntry = file.length() - sizeOfFourEntries;
+        assertTrue(sizeOfOneEntry > 0);
+        assertTrue(sizeOfOneEntry < sizeOfFourEntries / 3);
+        assertEquals(4, MaxHistory.forFolder(file).getTestDurations().size());
+    }
+
+    @Test
+    public void mergesHistoriesThatShareAFile() throws Exception {
+        File file = new File(folder.getRoot(), "history");
+        MaxHistory first = MaxHistory.forFolder(file);
+        MaxHistory second = MaxHistory.forFolder(file);
+        run(first, "a");
+        run(second, "b");
+
+        assertEquals(2, MaxHistory.forFolder(file).getTestDurations().size());
+        assertEquals(2, second.getTestDurations().size());
+    }
+
+    @Test
+    public void compactsOutdatedEntries() throws Exception {
+        File file = new File(folder.getRoot(), "history");
+        MaxHistory first = MaxHistory.forFolder(file);
+        String[] names = new String[600];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = "test" + i;
+        }
+        run(first, names);
+        long sizeOfAllEntries = file.length();
+        MaxHistory second = MaxHistory.forFolder(file);
+        run(first, names);
+        run(first, names);
+        assertTrue(file.length() < 2 * sizeOfAllEntries);
+
+        run(second, "other");
+        assertEquals(601, MaxHistory.forFolder(file).getTestDurations().size());
+    }
+
+    @Test
+    public void keepsFailureTimestamps() throws Exception {
+        File file = new File(folder.getRoot(), "history");
+        MaxHistory history = MaxHistory.forFolder(file);
+        RunListener listener = history.listener();
+        listener.testStarted(test("passing"));
+        listener.testFinished(test("passing"));
+        listener.testStarted(test("failing"));
+        listener.testFailure(new Failure(test("failing"), new AssertionError()));
+        listener.testFinished(test("failing"));
+        listener.testRunFinished(new Result());
+
+        MaxHistory reloaded = MaxHistory.forFolder(file);
+        assertTrue(reloaded.testComparator().compare(test("failing"), test("passing")) < 0);
+    }
+
+    @Test
+    public void ranksSuitesByTheirFirstTest() throws Exception {
+        File file = new File(folder.getRoot(), "history");
+        MaxHistory history = MaxHistory.forFolder(file);
+        RunListener listener = history.listener();
+        for (String each : new String[] {"a", "b", "c"}) {
+            listener.testStarted(test(each));
+            if (each.equals("c")) {
+                listener.testFailure(new Failure(test(each), new AssertionError()));
+            }
+            listener.testFinished(test(each));
+        }
+        listener.testRunFinished(new Result());
+
+        Description passing = Description.createSuiteDescription("passing");
+        passing.addChild(test("a"));
+        passing.addChild(test("b"));
+        Description failing = Description.createSuiteDescription("failing");
+        failing.addChild(test("b"));
+        failing.addChild(test("c"));
+        Description withNewTest = Description.createSuiteDescription("new");
+        withNewTest.addChild(test("a"));
+        withNewTest.addChild(test("d"));
+        Comparator<Description> comparator = history.failuresFirstComparator();
+        assertTrue(comparator.compare(failing, passing) < 0);
+        assertTrue(comparator.compare(withNewTest, failing) < 0);
+        assertTrue(comparator.compare(test("c"), test("b")) < 0);
+    }
+
+    @Test
+    public void ignoresIncompleteRecordAtEnd() throws Exception {
+        File file = new File(folder.getRoot(), "history");
+        MaxHistory history = MaxHistory.forFolder(file);
+        run(history, "a");
+        run(history, "b");
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+        randomAccessFile.setLength(file.length() - 1);
+        randomAccessFile.close();
+
+        MaxHistory reloaded = MaxHistory.forFolder(file);
+        assertEquals(1, reloaded.getTestDurations().size());
+        run(reloaded, "c");
+        assertEquals(2, MaxHistory.forFolder(file).getTestDurations().size());
+    }
+
+    @Test
+    public void convertsSerializedHistory() throws Exception {
+        File file = new File(folder.getRoot(), "history");
+        MaxHistory history = MaxHistory.forFolder(file);
+        run(history, "a");
+        ObjectOutputStream stream = new ObjectOutputStream(new FileOutputStream(file));
+        stream.writeObject(history);
+        stream.close();
+
+        MaxHistory serialized = MaxHistory.forFolder(file);
+        assertEquals(1, serialized.getTestDurations().size());
+        run(serialized, "b");
+        assertEquals(2, MaxHistory.forFolder(file).getTestDurations().size());
+    }
+}
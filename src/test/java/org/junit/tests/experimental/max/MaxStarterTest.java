@@ -156,6 +156,43 @@ public class MaxStarterTest {
                 "slow"), thing);
     }
 
+    public static class FailsOnce {
+        static boolean failed;
+
+        @Test
+        public void a() {
+        }
+
+        @Test
+        public void b() {
+            if (!failed) {
+                failed = true;
+                fail();
+            }
+        }
+    }
+
+    @Test
+    public void sortFailuresFirstRunsFailedTestsFirstWithoutSplittingClasses() {
+        FailsOnce.failed = false;
+        fMax.run(fMax.sortFailuresFirst(Request.aClass(FailsOnce.class)));
+
+        MaxCore reincarnation = MaxCore.storedLocally(fMaxFile);
+        Request request = reincarnation.sortFailuresFirst(Request.aClass(FailsOnce.class));
+        assertEquals(Description.createSuiteDescription(FailsOnce.class),
+                request.getRunner().getDescription());
+        JUnitCore core = new JUnitCore();
+        final List<String> started = new ArrayList<String>();
+        core.addListener(new RunListener() {
+            @Override
+            public void testStarted(Description description) {
+                started.add(description.getMethodName());
+            }
+        });
+        reincarnation.run(request, core);
+        assertEquals("b", started.get(0));
+    }
+
     @Test
     public void listenersAreCalledCorrectlyInTheFaceOfFailures()
             throws Exception {
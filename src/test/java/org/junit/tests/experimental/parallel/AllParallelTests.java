@@ -7,7 +7,9 @@ import org.junit.runners.Suite.SuiteClasses;
 @RunWith(Suite.class)
 @SuiteClasses({
         ParallelClassTest.class,
-        ParallelMethodTest.class
+        ParallelMethodTest.class,
+        ParallelSharedPoolTest.class,
+        VirtualThreadSchedulerTest.class
 })
 public class AllParallelTests {
 }
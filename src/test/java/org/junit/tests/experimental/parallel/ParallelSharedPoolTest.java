@@ -0,0 +1,104 @@
+package org.junit.tests.experimental.parallel;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.ParallelComputer;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+
+public class ParallelSharedPoolTest {
+    private static final Set<String> fThreadNames =
+            Collections.synchronizedSet(new HashSet<String>());
+
+    public static class Example1 {
+        @Test
+        public void one() throws InterruptedException {
+            recordThread();
+        }
+
+        @Test
+        public void two() throws InterruptedException {
+            recordThread();
+        }
+
+        @Test
+        public void three() throws InterruptedException {
+            recordThread();
+        }
+    }
+
+    public static class Example2 {
+        @Test
+        public void one() throws InterruptedException {
+            recordThread();
+        }
+
+        @Test
+        public void two() throws InterruptedException {
+            recordThread();
+        }
+    }
+
+    public static class Example3 {
+        @Test
+        public void one() throws InterruptedException {
+            recordThread();
+        }
+    }
+
+    private static void recordThread() throws InterruptedException {
+        fThreadNames.add(Thread.currentThread().getName());
+        Thread.sleep(10);
+    }
+
+    @Before
+    public void init() {
+        fThreadNames.clear();
+    }
+
+    @Test
+    public void nestedParallelRunnersDoNotDeadlockWithSingleWorker() {
+        Result result = JUnitCore.runClasses(new ParallelComputer(true, true, 1),
+                Example1.class, Example2.class, Example3.class);
+        assertTrue(result.wasSuccessful());
+        assertEquals(6, result.getRunCount());
+    }
+
+    @Test
+    public void usesNoMoreWorkersThanParallelism() {
+        Result result = JUnitCore.runClasses(new ParallelComputer(true, true, 2),
+                Example1.class, Example2.class, Example3.class);
+        assertTrue(result.wasSuccessful());
+        fThreadNames.remove(Thread.currentThread().getName());
+        assertTrue("Used threads " + fThreadNames, fThreadNames.size() <= 2);
+    }
+
+    @Test
+    public void runsMethodsOnlyInParallel() {
+        Result result = JUnitCore.runClasses(new ParallelComputer(false, true, 2),
+                Example1.class, Example2.class);
+        assertTrue(result.wasSuccessful());
+        assertEquals(5, result.getRunCount());
+    }
+
+    @Test
+    public void canBeReusedForSeveralRuns() {
+        ParallelComputer computer = new ParallelComputer(true, true, 2);
+        assertThat(JUnitCore.runClasses(computer, Example1.class).getRunCount(), is(3));
+        assertThat(JUnitCore.runClasses(computer, Example2.class).getRunCount(), is(2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveParallelism() {
+        new ParallelComputer(true, true, 0);
+    }
+}
@@ -0,0 +1,132 @@
+package org.junit.tests.experimental.parallel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.junit.experimental.ParallelComputer;
+import org.junit.experimental.VirtualThreadScheduler;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+
+public class VirtualThreadSchedulerTest {
+    private static final long TIMEOUT = 15;
+    private static volatile CountDownLatch fSynchronizer;
+    private static final AtomicInteger fRunning = new AtomicInteger();
+    private static final AtomicInteger fMaxRunning = new AtomicInteger();
+
+    public static class AllInFlight {
+        @Test
+        public void one() throws InterruptedException {
+            awaitOthers();
+        }
+
+        @Test
+        public void two() throws InterruptedException {
+            awaitOthers();
+        }
+
+        @Test
+        public void three() throws InterruptedException {
+            awaitOthers();
+        }
+
+        @Test
+        public void four() throws InterruptedException {
+            awaitOthers();
+        }
+
+        private void awaitOthers() throws InterruptedException {
+            fSynchronizer.countDown();
+            assertTrue(fSynchronizer.await(TIMEOUT, TimeUnit.SECONDS));
+        }
+    }
+
+    public static class Sleeping {
+        @Test
+        public void one() throws InterruptedException {
+            sleep();
+        }
+
+        @Test
+        public void two() throws InterruptedException {
+            sleep();
+        }
+
+        @Test
+        public void three() throws InterruptedException {
+            sleep();
+        }
+
+        @Test
+        public void four() throws InterruptedException {
+            sleep();
+        }
+
+        @Test
+        public void five() throws InterruptedException {
+            sleep();
+        }
+
+        private void sleep() throws InterruptedException {
+            int running = fRunning.incrementAndGet();
+            int max;
+            while (running > (max = fMaxRunning.get())) {
+                fMaxRunning.compareAndSet(max, running);
+            }
+            Thread.sleep(20);
+            fRunning.decrementAndGet();
+        }
+    }
+
+    @Test
+    public void runsAllChildrenConcurrently() {
+        fSynchronizer = new CountDownLatch(4);
+        Result result = JUnitCore.runClasses(
+                ParallelComputer.virtualThreads(false, true, 4), AllInFlight.class);
+        assertTrue(result.wasSuccessful());
+        assertEquals(4, result.getRunCount());
+    }
+
+    @Test
+    public void limitsChildrenInFlight() {
+        fRunning.set(0);
+        fMaxRunning.set(0);
+        Result result = JUnitCore.runClasses(
+                ParallelComputer.virtualThreads(true, true, 2), Sleeping.class);
+        assertTrue(result.wasSuccessful());
+        assertEquals(5, result.getRunCount());
+        assertTrue("max in flight was " + fMaxRunning.get(), fMaxRunning.get() <= 2);
+    }
+
+    @Test
+    public void reportsSupportOnlyIfChildrenRunOnVirtualThreads() throws Exception {
+        final AtomicBoolean virtual = new AtomicBoolean();
+        VirtualThreadScheduler scheduler = new VirtualThreadScheduler(1);
+        scheduler.schedule(new Runnable() {
+            public void run() {
+                virtual.set(isVirtual(Thread.currentThread()));
+            }
+        });
+        scheduler.finished();
+        assertEquals(virtual.get(), VirtualThreadScheduler.isVirtualThreadSupported());
+    }
+
+    private static boolean isVirtual(Thread thread) {
+        try {
+            return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveBound() {
+        new VirtualThreadScheduler(0);
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.runners.Suite.SuiteClasses;
 @RunWith(Suite.class)
 @SuiteClasses({
         AllMembersSupplierTest.class,
+        AssignmentsTest.class,
         ParameterizedAssertionErrorTest.class,
         SpecificDataPointsSupplierTest.class
 })
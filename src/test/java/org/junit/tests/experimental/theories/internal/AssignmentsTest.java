@@ -0,0 +1,59 @@
+package org.junit.tests.experimental.theories.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.experimental.theories.PotentialAssignment;
+import org.junit.experimental.theories.internal.Assignments;
+import org.junit.runners.model.TestClass;
+
+public class AssignmentsTest {
+    public static class TwoConstructorParameters {
+        public TwoConstructorParameters(String first, String second) {
+        }
+
+        public void theory(int third, int fourth) {
+        }
+    }
+
+    private static Assignments unassigned() throws Exception {
+        return Assignments.allUnassigned(
+                TwoConstructorParameters.class.getMethod("theory", int.class, int.class),
+                new TestClass(TwoConstructorParameters.class));
+    }
+
+    private static PotentialAssignment value(Object value) {
+        return PotentialAssignment.forValue(String.valueOf(value), value);
+    }
+
+    @Test
+    public void assignsParametersInOrder() throws Exception {
+        Assignments assignments = unassigned();
+        assertEquals(String.class, assignments.nextUnassigned().getType());
+        assignments = assignments.assignNext(value("a")).assignNext(value("b"));
+        assertEquals(int.class, assignments.nextUnassigned().getType());
+        assertFalse(assignments.isComplete());
+        assignments = assignments.assignNext(value(3)).assignNext(value(4));
+
+        assertTrue(assignments.isComplete());
+        assertArrayEquals(new Object[] {"a", "b"}, assignments.getConstructorArguments());
+        assertArrayEquals(new Object[] {3, 4}, assignments.getMethodArguments());
+        assertArrayEquals(new Object[] {"a", "b", 3, 4}, assignments.getAllArguments());
+        assertArrayEquals(new Object[] {"\"a\" <from a>", "\"b\" <from b>",
+                "\"3\" <from 3>", "\"4\" <from 4>"}, assignments.getArgumentStrings(true));
+    }
+
+    @Test
+    public void extendingAssignmentsLeavesThemUnchanged() throws Exception {
+        Assignments prefix = unassigned().assignNext(value("a"));
+        Assignments withB = prefix.assignNext(value("b"));
+        Assignments withC = prefix.assignNext(value("c"));
+
+        assertArrayEquals(new Object[] {"a"}, prefix.getAllArguments());
+        assertArrayEquals(new Object[] {"a", "b"}, withB.getAllArguments());
+        assertArrayEquals(new Object[] {"a", "c"}, withC.getAllArguments());
+    }
+}
@@ -7,12 +7,14 @@ import org.junit.runners.Suite.SuiteClasses;
 @RunWith(Suite.class)
 @SuiteClasses({
         FailingDataPointMethods.class,
+        ParallelTheories.class,
         SuccessfulWithDataPointFields.class,
         TheoriesPerformanceTest.class,
         TypeMatchingBetweenMultiDataPointsMethod.class,
         UnsuccessfulWithDataPointFields.class,
         WhenNoParametersMatch.class,
         WithAutoGeneratedDataPoints.class,
+        WithCachedDataPoints.class,
         WithDataPointMethod.class,
         WithExtendedParameterSources.class,
         WithNamedDataPoints.class,
@@ -0,0 +1,128 @@
+package org.junit.tests.experimental.theories.runner;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+import static org.junit.experimental.results.PrintableResult.testResult;
+import static org.junit.experimental.results.ResultMatchers.hasSingleFailureContaining;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.junit.runner.notification.Failure;
+
+public class ParallelTheories {
+    private static final Set<String> assignments =
+            Collections.synchronizedSet(new HashSet<String>());
+
+    private static final Set<String> threads =
+            Collections.synchronizedSet(new HashSet<String>());
+
+    @RunWith(Theories.class)
+    public static class ThreeParameters {
+        @DataPoints
+        public static int[] VALUES = {0, 1, 2, 3, 4};
+
+        @Theory(parallelism = 4)
+        public void everyAssignment(int a, int b, int c) {
+            assignments.add(a + "," + b + "," + c);
+            threads.add(Thread.currentThread().getName());
+        }
+    }
+
+    @Test
+    public void runsEveryAssignmentOnSeveralThreads() {
+        assignments.clear();
+        threads.clear();
+        Result result = JUnitCore.runClasses(ThreeParameters.class);
+
+        assertTrue(result.wasSuccessful());
+        assertEquals(125, assignments.size());
+        assertTrue(threads.size() > 1);
+    }
+
+    @RunWith(Theories.class)
+    public static class SumBelowFive {
+        @DataPoints
+        public static int[] VALUES = {0, 1, 2, 3, 4};
+
+        @Theory
+        public void sequential(int a, int b) {
+            assertTrue(a + b < 5);
+        }
+
+        @Theory(parallelism = 4)
+        public void parallel(int a, int b) throws Exception {
+            // Later assignments fail first.
+            Thread.sleep(5 - a);
+            assertTrue(a + b < 5);
+        }
+    }
+
+    @Test
+    public void reportsFirstFailingAssignment() {
+        Result result = JUnitCore.runClasses(SumBelowFive.class);
+
+        assertEquals(2, result.getFailureCount());
+        assertThat(messageOf(result.getFailures(), "parallel"),
+                containsString("parallel(\"1\" <from VALUES[1]>, \"4\" <from VALUES[4]>)"));
+    }
+
+    @RunWith(Theories.class)
+    public static class NeverSatisfied {
+        @DataPoints
+        public static int[] VALUES = {0, 1, 2, 3};
+
+        @Theory
+        public void sequential(int a, int b) {
+            assumeTrue(a + "," + b, false);
+        }
+
+        @Theory(parallelism = 3)
+        public void parallel(int a, int b) {
+            assumeTrue(a + "," + b, false);
+        }
+    }
+
+    @Test
+    public void reportsAssumptionViolationsInOrder() {
+        Result result = JUnitCore.runClasses(NeverSatisfied.class);
+
+        assertEquals(2, result.getFailureCount());
+        assertEquals(messageOf(result.getFailures(), "sequential"),
+                messageOf(result.getFailures(), "parallel"));
+    }
+
+    private static String messageOf(List<Failure> failures, String methodName) {
+        for (Failure each : failures) {
+            if (each.getDescription().getMethodName().equals(methodName)) {
+                return each.getMessage().replace("sequential(", "parallel(");
+            }
+        }
+        throw new AssertionError("No failure of " + methodName);
+    }
+
+    @RunWith(Theories.class)
+    public static class NoParallelism {
+        @Theory(parallelism = 0)
+        public void theory() {
+        }
+    }
+
+    @Test
+    public void parallelismMustBePositive() {
+        assertThat(testResult(NoParallelism.class), hasSingleFailureContaining(
+                "Theory theory must have a positive parallelism, but has 0"));
+    }
+}
@@ -0,0 +1,90 @@
+package org.junit.tests.experimental.theories.runner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.experimental.theories.internal.DataPointsCache;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+
+public class WithCachedDataPoints {
+    @RunWith(Theories.class)
+    public static class CachedGenerator {
+        static int calls;
+
+        @DataPoints(cached = true)
+        public static String[] strings() {
+            calls++;
+            return new String[] {"a", "b"};
+        }
+
+        @Theory
+        public void first(String x, String y) {
+        }
+
+        @Theory
+        public void second(String x, String y) {
+        }
+    }
+
+    @Test
+    public void callsDataPointsMethodOncePerRun() {
+        CachedGenerator.calls = 0;
+        long saved = DataPointsCache.getSavedInvocationCount();
+        Result result = JUnitCore.runClasses(CachedGenerator.class);
+
+        assertTrue(result.wasSuccessful());
+        assertEquals(1, CachedGenerator.calls);
+        // Each theory needs the values once for x, and once for y per value of x
+        assertEquals(5, DataPointsCache.getSavedInvocationCount() - saved);
+    }
+
+    @Test
+    public void callsDataPointsMethodAgainInNextRun() {
+        CachedGenerator.calls = 0;
+        JUnitCore.runClasses(CachedGenerator.class);
+        JUnitCore.runClasses(CachedGenerator.class);
+
+        assertEquals(2, CachedGenerator.calls);
+    }
+
+    @RunWith(Theories.class)
+    public static class FreshGenerator {
+        static int calls;
+
+        @DataPoints
+        public static List<String> strings() {
+            calls++;
+            return Arrays.asList("a", "b");
+        }
+
+        @Theory
+        public void first(String x, String y) {
+        }
+
+        @Theory
+        public void second(String x, String y) {
+        }
+    }
+
+    @Test
+    public void callsDataPointsMethodForEachParameterByDefault() {
+        FreshGenerator.calls = 0;
+        long invocations = DataPointsCache.getInvocationCount();
+        long saved = DataPointsCache.getSavedInvocationCount();
+        Result result = JUnitCore.runClasses(FreshGenerator.class);
+
+        assertTrue(result.wasSuccessful());
+        assertEquals(6, FreshGenerator.calls);
+        assertEquals(6, DataPointsCache.getInvocationCount() - invocations);
+        assertEquals(0, DataPointsCache.getSavedInvocationCount() - saved);
+    }
+}
@@ -8,6 +8,7 @@ import org.junit.runners.Suite.SuiteClasses;
 @SuiteClasses({
         FilterableTest.class,
         FilterTest.class,
+        ShardFilterTest.class,
         SingleMethodTest.class,
         SortableTest.class
 })
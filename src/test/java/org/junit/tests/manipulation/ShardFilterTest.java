@@ -0,0 +1,196 @@
+package org.junit.tests.manipulation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.manipulation.ShardFilter;
+import org.junit.runner.notification.RunListener;
+
+public class ShardFilterTest {
+    private static final int SHARD_COUNT = 4;
+
+    private static Description suite(int classes, int methods) {
+        Description suite = Description.createSuiteDescription("suite");
+        for (int c = 0; c < classes; c++) {
+            Description testClass = Description.createSuiteDescription("Class" + c);
+            for (int m = 0; m < methods; m++) {
+                testClass.addChild(Description.createTestDescription("Class" + c, "test" + m));
+            }
+            suite.addChild(testClass);
+        }
+        return suite;
+    }
+
+    private static void assertEveryTestInExactlyOneShard(Description suite,
+            List<ShardFilter> shards) {
+        for (Description testClass : suite.getChildren()) {
+            for (Description test : testClass.getChildren()) {
+                int accepted = 0;
+                for (ShardFilter each : shards) {
+                    if (each.shouldRun(test)) {
+                        accepted++;
+                        assertEquals(each.getShard(), each.shardOf(test));
+                    }
+                }
+                assertEquals(test.getDisplayName(), 1, accepted);
+            }
+        }
+    }
+
+    @Test
+    public void everyTestIsInExactlyOneHashShard() {
+        List<ShardFilter> shards = new ArrayList<ShardFilter>();
+        for (int i = 1; i <= SHARD_COUNT; i++) {
+            shards.add(ShardFilter.byHash(i, SHARD_COUNT));
+        }
+        assertEveryTestInExactlyOneShard(suite(20, 50), shards);
+    }
+
+    @Test
+    public void hashShardsHaveSimilarSizes() {
+        Description suite = suite(20, 50);
+        for (int i = 1; i <= SHARD_COUNT; i++) {
+            ShardFilter shard = ShardFilter.byHash(i, SHARD_COUNT);
+            int size = 0;
+            for (Description testClass : suite.getChildren()) {
+                for (Description test : testClass.getChildren()) {
+                    if (shard.shouldRun(test)) {
+                        size++;
+                    }
+                }
+            }
+            assertTrue("shard " + i + " has " + size + " tests", size > 200 && size < 300);
+        }
+    }
+
+    @Test
+    public void hashAssignmentDoesNotDependOnSuite() {
+        Description test = Description.createTestDescription("Class0", "test0");
+        assertEquals(ShardFilter.byHash(1, SHARD_COUNT).shardOf(test),
+                ShardFilter.byHash("2/" + SHARD_COUNT).shardOf(test));
+    }
+
+    @Test
+    public void suiteRunsIfAnyChildRuns() {
+        Description suite = suite(1, 1);
+        Description test = suite.getChildren().get(0).getChildren().get(0);
+        int shard = ShardFilter.byHash(1, SHARD_COUNT).shardOf(test);
+        assertTrue(ShardFilter.byHash(shard, SHARD_COUNT).shouldRun(suite));
+        ShardFilter other = ShardFilter.byHash(shard % SHARD_COUNT + 1, SHARD_COUNT);
+        assertTrue(!other.shouldRun(suite));
+    }
+
+    @Test
+    public void everyTestIsInExactlyOneDurationShard() {
+        Description suite = suite(5, 10);
+        Map<String, Long> durations = new HashMap<String, Long>();
+        durations.put("test0(Class0)", 1000L);
+        durations.put("test1(Class0)", 10L);
+        List<ShardFilter> shards = new ArrayList<ShardFilter>();
+        for (int i = 1; i <= SHARD_COUNT; i++) {
+            shards.add(ShardFilter.byDuration(i, SHARD_COUNT, suite, durations));
+        }
+        assertEveryTestInExactlyOneShard(suite, shards);
+    }
+
+    @Test
+    public void durationShardsTakeSimilarTime() {
+        Description suite = suite(1, 8);
+        Map<String, Long> durations = new HashMap<String, Long>();
+        long[] recorded = {70, 60, 50, 40, 30, 20, 10, 10};
+        for (int m = 0; m < recorded.length; m++) {
+            durations.put("test" + m + "(Class0)", recorded[m]);
+        }
+        long[] loads = new long[2];
+        for (int i = 1; i <= 2; i++) {
+            ShardFilter shard = ShardFilter.byDuration(i, 2, suite, durations);
+            for (Description test : suite.getChildren().get(0).getChildren()) {
+                if (shard.shouldRun(test)) {
+                    loads[i - 1] += durations.get(test.getDisplayName());
+                }
+            }
+        }
+        assertEquals(150, loads[0]);
+        assertEquals(140, loads[1]);
+    }
+
+    @Test
+    public void durationShardsWithoutHistoryHaveEqualSizes() {
+        Description suite = suite(3, 4);
+        Set<String> firstShard = new HashSet<String>();
+        ShardFilter shard = ShardFilter.byDuration(1, 3, suite, new HashMap<String, Long>());
+        for (Description testClass : suite.getChildren()) {
+            for (Description test : testClass.getChildren()) {
+                if (shard.shouldRun(test)) {
+                    firstShard.add(test.getDisplayName());
+                }
+            }
+        }
+        assertEquals(4, firstShard.size());
+    }
+
+    public static class Example {
+        @Test
+        public void a() {
+        }
+
+        @Test
+        public void b() {
+        }
+
+        @Test
+        public void c() {
+        }
+
+        @Test
+        public void d() {
+        }
+    }
+
+    @Test
+    public void shardsOfRequestRunAllTestsOnce() {
+        final List<String> finished = new ArrayList<String>();
+        JUnitCore core = new JUnitCore();
+        core.addListener(new RunListener() {
+            @Override
+            public void testFinished(Description description) {
+                finished.add(description.getMethodName());
+            }
+        });
+        for (int i = 1; i <= 3; i++) {
+            // A shard without tests reports an initialization error.
+            core.run(Request.aClass(Example.class).filterWith(ShardFilter.byHash(i, 3)));
+        }
+        finished.remove("initializationError");
+        Collections.sort(finished);
+        assertEquals(Arrays.asList("a", "b", "c", "d"), finished);
+    }
+
+    @Test
+    public void describesShard() {
+        assertEquals("shard 3 of 16", ShardFilter.byHash("3/16").describe());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsShardOutOfRange() {
+        ShardFilter.byHash(0, 16);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsMalformedSpec() {
+        ShardFilter.byHash("3-16");
+    }
+}
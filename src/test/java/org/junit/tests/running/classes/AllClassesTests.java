@@ -11,11 +11,13 @@ import org.junit.tests.running.classes.parent.ParentRunnerClassLoaderTest;
         ClassLevelMethodsWithIgnoredTestsTest.class,
         EnclosedTest.class,
         IgnoreClassTest.class,
+        ParallelParameterizedTest.class,
         ParameterizedTestTest.class,
         ParentRunnerFilteringTest.class,
         ParentRunnerTest.class,
         ParentRunnerClassLoaderTest.class,
         RunWithTest.class,
+        StreamingParameterizedTest.class,
         SuiteTest.class,
         UseSuiteAsASuperclassTest.class
 })
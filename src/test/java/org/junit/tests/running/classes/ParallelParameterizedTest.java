@@ -0,0 +1,184 @@
+package org.junit.tests.running.classes;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.junit.runner.notification.RunListener;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.AfterParam;
+import org.junit.runners.Parameterized.BeforeParam;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+public class ParallelParameterizedTest {
+    private static final int ROWS = 4;
+
+    private static volatile CountDownLatch allRowsStarted;
+
+    private static final Map<Integer, Set<String>> threadsOfRow =
+            Collections.synchronizedMap(new HashMap<Integer, Set<String>>());
+
+    private static void recordThread(int row) {
+        synchronized (threadsOfRow) {
+            Set<String> threads = threadsOfRow.get(row);
+            if (threads == null) {
+                threads = new HashSet<String>();
+                threadsOfRow.put(row, threads);
+            }
+            threads.add(Thread.currentThread().getName());
+        }
+    }
+
+    @RunWith(Parameterized.class)
+    public static class ConcurrentRows {
+        @Parameters(name = "{0}", parallelism = ROWS)
+        public static List<Integer> data() {
+            return asList(0, 1, 2, 3);
+        }
+
+        @Parameter
+        public int row;
+
+        @BeforeParam
+        public static void before(int row) {
+            recordThread(row);
+        }
+
+        @AfterParam
+        public static void after(int row) {
+            recordThread(row);
+        }
+
+        @Test
+        public void a() throws Exception {
+            recordThread(row);
+            allRowsStarted.countDown();
+            assertTrue("rows did not run at the same time",
+                    allRowsStarted.await(10, TimeUnit.SECONDS));
+            // Later rows finish first.
+            Thread.sleep(10 * (ROWS - row));
+        }
+
+        @Test
+        public void b() {
+            recordThread(row);
+        }
+    }
+
+    private static class TestOrder extends RunListener {
+        final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+
+        @Override
+        public void testStarted(Description description) {
+            events.add("started " + description.getMethodName());
+        }
+
+        @Override
+        public void testFinished(Description description) {
+            events.add("finished " + description.getMethodName());
+        }
+    }
+
+    @Test
+    public void runsRowsConcurrently() {
+        allRowsStarted = new CountDownLatch(ROWS);
+        Result result = JUnitCore.runClasses(ConcurrentRows.class);
+
+        assertEquals(2 * ROWS, result.getRunCount());
+        assertEquals(0, result.getFailureCount());
+    }
+
+    @Test
+    public void runsBeforeParamAndAfterParamOnThreadOfRow() {
+        allRowsStarted = new CountDownLatch(ROWS);
+        threadsOfRow.clear();
+        JUnitCore.runClasses(ConcurrentRows.class);
+
+        assertEquals(ROWS, threadsOfRow.size());
+        for (Set<String> each : threadsOfRow.values()) {
+            assertEquals(1, each.size());
+        }
+    }
+
+    @Test
+    public void reportsEventsInOrderOfRows() {
+        allRowsStarted = new CountDownLatch(ROWS);
+        TestOrder listener = new TestOrder();
+        JUnitCore core = new JUnitCore();
+        core.addListener(listener);
+        core.run(ConcurrentRows.class);
+
+        List<String> expected = new ArrayList<String>();
+        for (int row = 0; row < ROWS; row++) {
+            expected.addAll(asList("started a[" + row + "]", "finished a[" + row + "]",
+                    "started b[" + row + "]", "finished b[" + row + "]"));
+        }
+        assertEquals(expected, listener.events);
+    }
+
+    @RunWith(Parameterized.class)
+    public static class StreamedConcurrentRows extends ConcurrentRows {
+        @Parameters(name = "{0}", streaming = true, parallelism = ROWS)
+        public static List<Integer> data() {
+            return asList(0, 1, 2, 3);
+        }
+    }
+
+    @Test
+    public void runsStreamedRowsConcurrentlyInOrder() {
+        allRowsStarted = new CountDownLatch(ROWS);
+        TestOrder listener = new TestOrder();
+        JUnitCore core = new JUnitCore();
+        core.addListener(listener);
+        Request request = Request.aClass(StreamedConcurrentRows.class);
+        assertTrue(request.getRunner().getDescription().getChildren().isEmpty());
+        Result result = core.run(request);
+
+        assertEquals(0, result.getFailureCount());
+        assertEquals("started a[0]", listener.events.get(0));
+        assertEquals("finished b[3]", listener.events.get(4 * ROWS - 1));
+    }
+
+    @RunWith(Parameterized.class)
+    public static class NoParallelism {
+        @Parameters(parallelism = 0)
+        public static List<Integer> data() {
+            return asList(0);
+        }
+
+        @Parameter
+        public int row;
+
+        @Test
+        public void test() {
+        }
+    }
+
+    @Test
+    public void parallelismMustBePositive() {
+        Result result = JUnitCore.runClasses(NoParallelism.class);
+
+        assertEquals(1, result.getFailureCount());
+        assertThat(result.getFailures().get(0).getMessage(),
+                containsString("must be positive, but was 0"));
+    }
+}
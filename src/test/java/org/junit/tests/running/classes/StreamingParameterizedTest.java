@@ -0,0 +1,252 @@
+package org.junit.tests.running.classes;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.ShardFilter;
+import org.junit.runner.notification.RunListener;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.AfterParam;
+import org.junit.runners.Parameterized.BeforeParam;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Suite;
+import org.junit.runners.Suite.SuiteClasses;
+
+public class StreamingParameterizedTest {
+    private static final List<String> log = Collections.synchronizedList(new ArrayList<String>());
+
+    /**
+     * Returns the numbers {@code 0} to {@code count - 1} and logs each number
+     * that is read.
+     */
+    private static Iterator<Object> numbers(final int count) {
+        return new Iterator<Object>() {
+            private int next;
+
+            public boolean hasNext() {
+                return next < count;
+            }
+
+            public Object next() {
+                if (next == count) {
+                    throw new NoSuchElementException();
+                }
+                log.add("read " + next);
+                return next++;
+            }
+
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @RunWith(Parameterized.class)
+    public static class StreamedNumbers {
+        @Parameters(name = "{0}", streaming = true)
+        public static Iterator<Object> data() {
+            return numbers(3);
+        }
+
+        @Parameter
+        public int number;
+
+        @BeforeParam
+        public static void before(int number) {
+            log.add("before " + number);
+        }
+
+        @AfterParam
+        public static void after(int number) {
+            log.add("after " + number);
+        }
+
+        @Test
+        public void a() {
+            log.add("a " + number);
+        }
+
+        @Test
+        public void b() {
+            log.add("b " + number);
+        }
+    }
+
+    @Test
+    public void readsParametersWhileTestsRun() {
+        log.clear();
+        Result result = JUnitCore.runClasses(StreamedNumbers.class);
+
+        assertEquals(6, result.getRunCount());
+        assertEquals(asList("read 0", "before 0", "a 0", "b 0", "after 0",
+                "read 1", "before 1", "a 1", "b 1", "after 1",
+                "read 2", "before 2", "a 2", "b 2", "after 2"), log);
+    }
+
+    @Test
+    public void readsFirstParametersWhenRunnerIsCreated() {
+        log.clear();
+        Request.aClass(StreamedNumbers.class).getRunner();
+
+        assertEquals(asList("read 0"), log);
+    }
+
+    @Test
+    public void descriptionHasNoChildren() {
+        Runner runner = Request.aClass(StreamedNumbers.class).getRunner();
+        Description description = runner.getDescription();
+
+        assertEquals(StreamedNumbers.class.getName(), description.getDisplayName());
+        assertTrue(description.getChildren().isEmpty());
+    }
+
+    @Test
+    public void appliesFilterToEachSetOfParameters() {
+        log.clear();
+        Description b1 = Description.createTestDescription(StreamedNumbers.class, "b[1]");
+        Result result = new JUnitCore().run(
+                Request.aClass(StreamedNumbers.class).filterWith(b1));
+
+        assertEquals(1, result.getRunCount());
+        assertEquals(asList("read 0", "read 1", "before 1", "b 1", "after 1", "read 2"), log);
+    }
+
+    @Test
+    public void filterWithoutMatchingTestsRunsNothing() {
+        Result result = new JUnitCore().run(Request.aClass(StreamedNumbers.class)
+                .filterWith(Filter.matchMethodDescription(Description.EMPTY)));
+
+        assertEquals(0, result.getRunCount());
+        assertEquals(0, result.getFailureCount());
+    }
+
+    @RunWith(Suite.class)
+    @SuiteClasses(StreamedNumbers.class)
+    public static class SuiteWithStreamedNumbers {
+    }
+
+    @Test
+    public void eachTestOfEnclosingSuiteRunsInExactlyOneShard() {
+        assertEachTestRunsInExactlyOneShard(StreamedNumbers.class);
+        assertEachTestRunsInExactlyOneShard(SuiteWithStreamedNumbers.class);
+    }
+
+    private static void assertEachTestRunsInExactlyOneShard(Class<?> testClass) {
+        final List<String> started = new ArrayList<String>();
+        JUnitCore core = new JUnitCore();
+        core.addListener(new RunListener() {
+            @Override
+            public void testStarted(Description description) {
+                started.add(description.getMethodName());
+            }
+        });
+        for (int shard = 1; shard <= 3; shard++) {
+            // A streaming runner runs only once, so each shard needs a new one.
+            core.run(Request.classes(testClass).filterWith(ShardFilter.byHash(shard + "/3")));
+        }
+
+        Collections.sort(started);
+        assertEquals(asList("a[0]", "a[1]", "a[2]", "b[0]", "b[1]", "b[2]"), started);
+    }
+
+    @Test
+    public void sortsTestsOfEachSetOfParameters() {
+        log.clear();
+        new JUnitCore().run(Request.aClass(StreamedNumbers.class).sortWith(
+                new Comparator<Description>() {
+                    public int compare(Description o1, Description o2) {
+                        return o2.getDisplayName().compareTo(o1.getDisplayName());
+                    }
+                }));
+
+        assertEquals(asList("read 0", "before 0", "b 0", "a 0", "after 0",
+                "read 1", "before 1", "b 1", "a 1", "after 1",
+                "read 2", "before 2", "b 2", "a 2", "after 2"), log);
+    }
+
+    @RunWith(Parameterized.class)
+    public static class BrokenStream {
+        @Parameters(streaming = true)
+        public static Iterator<Object> data() {
+            return new Iterator<Object>() {
+                private boolean first = true;
+
+                public boolean hasNext() {
+                    return true;
+                }
+
+                public Object next() {
+                    if (first) {
+                        first = false;
+                        return "first";
+                    }
+                    throw new IllegalStateException("cannot read parameters");
+                }
+
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Parameter
+        public String parameter;
+
+        @Test
+        public void test() {
+        }
+    }
+
+    @Test
+    public void reportsErrorWhileReadingParameters() {
+        Result result = JUnitCore.runClasses(BrokenStream.class);
+
+        assertEquals(2, result.getRunCount());
+        assertEquals(1, result.getFailureCount());
+        assertThat(result.getFailures().get(0).getMessage(),
+                containsString("cannot read parameters"));
+    }
+
+    @RunWith(Parameterized.class)
+    public static class IteratorWithoutStreaming {
+        @Parameters
+        public static Iterator<Object> data() {
+            return numbers(2);
+        }
+
+        @Parameter
+        public int number;
+
+        @Test
+        public void test() {
+        }
+    }
+
+    @Test
+    public void readsAllParametersFromIteratorWithoutStreaming() {
+        log.clear();
+        Runner runner = Request.aClass(IteratorWithoutStreaming.class).getRunner();
+
+        assertEquals(asList("read 0", "read 1"), log);
+        assertEquals(2, runner.testCount());
+    }
+}
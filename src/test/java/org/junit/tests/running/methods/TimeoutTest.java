@@ -235,6 +235,7 @@ public class TimeoutTest {
         assertThat(exception[0].getMessage(), containsString("test timed out after 100 milliseconds"));
         assertThat(stackForException(exception[0]), containsString("Thread.join"));
         assertThat(exception[1].getMessage(), containsString("Appears to be stuck in thread timeout-thr2"));
+        assertThat(exception[1].getMessage(), containsString("CPU time per 10 ms: "));
     }
 
     @Test